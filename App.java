@@ -1,13 +1,81 @@
+import java.awt.*;             // Font, Graphics2D for the font warm-up
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;   // JVM uptime for time-to-first-frame
+import java.util.concurrent.CompletableFuture;
 import javax.swing.*;          // Loads Swing GUI toolkit (windows, panels, timers, etc.)
 import javax.swing.JFrame;     // Explicit import of the top-level window class (redundant but harmless)
 
 /**
  * Entry point for the Flappy-Bird clone.
- * Creates the main window and starts the game loop.
+ * Creates the main window on the EDT and starts the game loop. While the window is being built,
+ * background threads decode the sprite atlas, load the fonts, bootstrap the JFR events and run
+ * the physics until it is JIT-compiled; time-to-first-frame is printed once all of that is done.
+ *
+ * Keys: space flaps (and restarts after game over), F3 toggles the timing overlay.
+ *
+ * Options:
+ *   --active        paint from the game loop through a BufferStrategy instead of repaint()
+ *   --dirty         repaint only the areas that changed each frame (not with --active)
+ *   --parallax      scroll the background in layers behind the pipes
+ *   --seed n        seed pipe generation so the run can be reproduced exactly
+ *   --record dir    save each finished game as a replay file in dir
+ *   --replay file   re-run a recorded game headless at full speed and verify its score
+ *   --realtime      with --replay: watch the recorded game in the window instead
+ *   --export dir    with --replay: render every tick offscreen into dir, no display needed
+ *   --format f      frames as png (frame_000000.png, ...) or rgb (one raw rgb24 frames.rgb)
+ *   --threads n     encoder threads for --export (default: one per core)
  */
 public class App {
+
+    static final int WARM_UP_TICKS = 30_000;   // enough for step() and move() to reach C2
+
     public static void main(String[] args) throws Exception {
+        long launched = System.nanoTime();
+        long uptimeAtMain = ManagementFactory.getRuntimeMXBean().getUptime();   // JVM start -> main (ms)
+
+        /* ---- command-line options ---- */
+        GameOptions options = GameOptions.parse(args);
+        if (options.exportDir != null) {
+            System.setProperty("java.awt.headless", "true");         // render servers have no screen
+            System.exit(exportReplay(options) ? 0 : 1);
+        }
+        if (options.replayFile != null && !options.realtime) {
+            System.exit(verifyReplay(options.replayFile) ? 0 : 1);   // no window needed
+        }
+        if (!options.seedGiven) {
+            System.out.println("seed " + options.seed);   // pass back via --seed to replay this run
+        }
+
+        /* ---- warm-up, concurrently with building the window ---- */
+        SpriteAtlas.preload();         // decode sprites in the background while the window is built
+        CompletableFuture<Long> assets = timed(SpriteAtlas::get);
+        CompletableFuture<Long> fonts = timed(App::warmUpFonts);
+        CompletableFuture<Long> physics = timed(App::warmUpPhysics);
+        CompletableFuture<Long> events = timed(GameEvents::warmUp);   // JFR bootstrap, off the loop thread and EDT
+
+        /* ---- create the window on the EDT, as Swing requires ---- */
+        CompletableFuture<FlappyBird> game = new CompletableFuture<>();
+        SwingUtilities.invokeLater(() -> {
+            try {
+                game.complete(createWindow(options));
+            } catch (Throwable t) {
+                game.completeExceptionally(t);   // reported by main
+            }
+        });
 
+        /* ---- report time-to-first-frame once everything has finished ---- */
+        FlappyBird flappyBird = game.join();
+        long shown = flappyBird.firstFrame.join();
+        CompletableFuture.allOf(assets, fonts, physics, events).join();
+        double sinceMain = (shown - launched) / 1e6;
+        System.out.printf("startup: first frame %.0f ms after main, %.0f ms after JVM start"
+                        + " (concurrently: assets %.0f ms, fonts %.0f ms, physics warm-up %.0f ms, JFR events %.0f ms)%n",
+                sinceMain, uptimeAtMain + sinceMain, assets.join() / 1e6, fonts.join() / 1e6, physics.join() / 1e6,
+                events.join() / 1e6);
+    }
+
+    /** Builds and shows the game window (EDT). */
+    static FlappyBird createWindow(GameOptions options) {
         /* ---- window dimensions ---- */
         int boardWidth = 360;   // playable width in pixels
         int boardHeight = 640;  // playable height in pixels
@@ -21,12 +89,92 @@ public class App {
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE); // click X → terminate JVM
 
         /* ---- build & attach the game panel ---- */
-        FlappyBird flappyBird = new FlappyBird();     // custom JPanel with game logic/graphics
+        FlappyBird flappyBird = new FlappyBird(options); // custom JPanel with game logic/graphics
         frame.add(flappyBird);                        // add panel to window content pane
 
         /* ---- finalize display ---- */
         frame.pack();                                 // shrink-wrap window around preferred panel size
         flappyBird.requestFocus();                    // ensure keyboard events reach game panel
         frame.setVisible(true);                       // finally show the complete window
+        return flappyBird;
+    }
+
+    /* -------------------- STARTUP WARM-UP -------------------- */
+    /** Runs {@code task} on a background thread; completes with how long it took (ns). */
+    static CompletableFuture<Long> timed(Runnable task) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            task.run();
+            return System.nanoTime() - start;
+        });
+    }
+
+    /** Loads and rasterises the HUD and overlay fonts, so the first frame doesn't pay for it. */
+    static void warmUpFonts() {
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = scratch.createGraphics();
+        try {
+            for (Font font : new Font[] { HudRenderer.FONT, FlappyBird.OVERLAY_FONT }) {
+                g.setFont(font);
+                g.drawString(HudRenderer.GAME_OVER + "0123456789", 0, 0);
+                g.getFontMetrics().stringWidth("p50/p99/p999 max us");
+            }
+        } finally {
+            g.dispose();
+        }
+    }
+
+    /** Plays throwaway headless games so the physics is JIT-compiled before the first real tick. */
+    static void warmUpPhysics() {
+        GameWorld world = new GameWorld(0);
+        Policy policy = Policy.lookahead(0);   // must pass pipes, or move()'s scoring branch stays cold
+        int ticks = 0;
+        for (long seed = 0; ticks < WARM_UP_TICKS; seed++) {
+            ticks += BatchRunner.play(world, policy, seed, WARM_UP_TICKS - ticks);
+        }
+    }
+
+    /** Replays {@code file} headless as fast as possible and checks the recorded score. */
+    static boolean verifyReplay(java.io.File file) {
+        Replay replay;
+        try {
+            replay = Replay.load(file);
+        } catch (java.io.IOException e) {
+            System.err.println("cannot read replay: " + e.getMessage());
+            return false;
+        }
+        long start = System.nanoTime();
+        int score = new ReplayPlayer(replay).playToEnd(new GameWorld(replay.seed));
+        long elapsed = System.nanoTime() - start;
+
+        boolean ok = score == replay.score;
+        System.out.printf("%s: seed %d, %d ticks in %.2f ms, score %d (recorded %d) %s%n",
+                file, replay.seed, replay.ticks, elapsed / 1e6, score, replay.score, ok ? "OK" : "MISMATCH");
+        return ok;
+    }
+
+    /** Renders the replay named in {@code options} to frames in its export directory. */
+    static boolean exportReplay(GameOptions options) throws Exception {
+        Replay replay;
+        try {
+            replay = Replay.load(options.replayFile);
+        } catch (java.io.IOException e) {
+            System.err.println("cannot read replay: " + e.getMessage());
+            return false;
+        }
+        FrameExporter exporter = new FrameExporter(new GameWorld(replay.seed), options.exportDir,
+                options.exportFormat, options.exportThreads, options.parallax);
+        long start = System.nanoTime();
+        int frames;
+        try {
+            frames = exporter.export(replay);
+        } catch (java.io.IOException e) {
+            System.err.println("export failed: " + e);
+            return false;
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%s: %d frames (%s) to %s in %.2f s, %.0f frames/s%n", options.replayFile, frames,
+                options.exportFormat.name().toLowerCase(), options.exportDir, elapsed / 1e9, frames / (elapsed / 1e9));
+        return true;
     }
 }
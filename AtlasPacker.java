@@ -0,0 +1,60 @@
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import javax.imageio.ImageIO;
+
+/**
+ * Build step that packs every sprite, pre-scaled to the size the game draws it at, into one
+ * {@link SpriteAtlas}: {@code sprites.png} plus its index {@code sprites.atlas}.
+ * Run it from the project root whenever a source PNG or a drawn size in {@link GameWorld} changes:
+ *
+ *   java AtlasPacker [output dir]
+ *
+ * Sprites are scaled exactly as {@link SpriteCache} would scale them and laid out side by side in
+ * one row; with four sprites, the tallest being the background, that wastes little and needs no search.
+ */
+public class AtlasPacker {
+
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");   // plain ARGB images, no screen needed
+        File dir = new File(args.length > 0 ? args[0] : ".");
+
+        SpriteCache.Sprite[] sprites = SpriteCache.sprites(new GameWorld(0));
+        BufferedImage[] scaled = new BufferedImage[sprites.length];
+        Rectangle[] regions = new Rectangle[sprites.length];
+        int width = 0;
+        int height = 0;
+        for (int i = 0; i < sprites.length; i++) {
+            SpriteCache.Sprite s = sprites[i];
+            scaled[i] = SpriteCache.prepare(null, SpriteCache.load(s.file), s.width, s.height, s.transparency);
+            regions[i] = new Rectangle(width, 0, s.width, s.height);
+            width += s.width;
+            height = Math.max(height, s.height);
+        }
+
+        BufferedImage atlas = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = atlas.createGraphics();
+        try {
+            for (int i = 0; i < sprites.length; i++) {
+                g.drawImage(scaled[i], regions[i].x, regions[i].y, null);
+            }
+        } finally {
+            g.dispose();
+        }
+
+        File image = new File(dir, SpriteAtlas.IMAGE);
+        ImageIO.write(atlas, "png", image);
+        File index = new File(dir, SpriteAtlas.INDEX);
+        try (PrintWriter out = new PrintWriter(index, StandardCharsets.UTF_8)) {
+            out.println("# written by AtlasPacker: name x y width height");
+            for (int i = 0; i < sprites.length; i++) {
+                out.println(SpriteAtlas.indexLine(sprites[i].name, regions[i]));
+            }
+        }
+        System.out.printf("%s: %d sprites, %d x %d, %d bytes%n", image, sprites.length, width, height, image.length());
+    }
+}
@@ -0,0 +1,54 @@
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Tests the bird against every pipe slot in one call.
+ * The Vector API kernel in {@code simd/VectorCollision} is used when it has been compiled and
+ * {@code -Dflappy.simd=true} is set (with {@code --add-modules jdk.incubator.vector});
+ * otherwise {@link #VECTOR} is null and GameWorld keeps its per-pipe scalar test.
+ */
+final class BatchCollision {
+
+    static final String PROPERTY = "flappy.simd";
+
+    /** Vector kernel, or null when SIMD is off or unavailable. */
+    static final MethodHandle VECTOR = loadVectorKernel();
+
+    private BatchCollision() { }
+
+    /** Scalar equivalent of the vector kernel, slot by slot (the baseline it is benchmarked against). */
+    static boolean scalarAnyHit(int[] xs, int[] ys, int n, int bx, int by, int bw, int bh, int pw, int ph) {
+        for (int i = 0; i < n; i++) {
+            if (bx < xs[i] + pw && bx + bw > xs[i] && by < ys[i] + ph && by + bh > ys[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Calls the vector kernel; only valid when {@link #VECTOR} is non-null. */
+    static boolean vectorAnyHit(int[] xs, int[] ys, int n, int bx, int by, int bw, int bh, int pw, int ph) {
+        try {
+            return (boolean) VECTOR.invokeExact(xs, ys, n, bx, by, bw, bh, pw, ph);
+        } catch (Throwable t) {
+            throw new IllegalStateException("vector collision kernel failed", t);
+        }
+    }
+
+    /** Looks up simd.VectorCollision.anyHit if SIMD was requested; null (with a note) if it can't. */
+    static MethodHandle loadVectorKernel() {
+        if (!Boolean.getBoolean(PROPERTY)) {
+            return null;
+        }
+        try {
+            Class<?> kernel = Class.forName("simd.VectorCollision");
+            MethodType type = MethodType.methodType(boolean.class, int[].class, int[].class,
+                    int.class, int.class, int.class, int.class, int.class, int.class, int.class);
+            return MethodHandles.publicLookup().findStatic(kernel, "anyHit", type);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            System.err.println("SIMD collision unavailable, using scalar path: " + e);
+            return null;
+        }
+    }
+}
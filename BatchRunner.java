@@ -0,0 +1,104 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Plays many independent headless games in parallel to evaluate a {@link Policy}.
+ * Games run on a fork-join pool, one reusable {@link GameWorld} per worker thread and a fresh
+ * policy per game, under the same rules as the Swing game. Prints throughput and the score distribution.
+ *
+ * Usage: java BatchRunner [--games n] [--threads n] [--seed n] [--max-ticks n] [--policy spec]
+ */
+public class BatchRunner {
+
+    /* -------------------- SETTINGS -------------------- */
+    int games = 100_000;               // games to play
+    int threads = Runtime.getRuntime().availableProcessors();
+    long seed = 1;                     // master seed; game i's seed derives from it
+    int maxTicks = 60 * 60 * 10;       // give up on a game after 10 simulated minutes
+    String policy = "lookahead";       // see Policy.named()
+
+    public static void main(String[] args) throws Exception {
+        BatchRunner runner = new BatchRunner();
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            switch (option) {
+                case "--games":     runner.games = Integer.parseInt(GameOptions.value(args, ++i, option)); break;
+                case "--threads":   runner.threads = Integer.parseInt(GameOptions.value(args, ++i, option)); break;
+                case "--seed":      runner.seed = Long.parseLong(GameOptions.value(args, ++i, option)); break;
+                case "--max-ticks": runner.maxTicks = Integer.parseInt(GameOptions.value(args, ++i, option)); break;
+                case "--policy":    runner.policy = GameOptions.value(args, ++i, option); break;
+                default: throw new IllegalArgumentException("unknown option: " + option);
+            }
+        }
+        runner.run();
+    }
+
+    /* -------------------- BATCH -------------------- */
+    /** Plays all games and prints the report. */
+    void run() throws Exception {
+        // seeds are fixed up front, so results don't depend on which thread plays which game;
+        // each game's policy gets its own seed too, from a separate stream than the pipes'
+        long[] seeds = new long[games];
+        long[] policySeeds = new long[games];
+        SplittableRandom master = new SplittableRandom(seed);
+        SplittableRandom policyMaster = master.split();
+        for (int i = 0; i < games; i++) {
+            seeds[i] = master.nextLong();
+            policySeeds[i] = policyMaster.nextLong();
+        }
+
+        int[] scores = new int[games];
+        long[] ticks = new long[games];
+        ThreadLocal<GameWorld> worlds = ThreadLocal.withInitial(() -> new GameWorld(0));
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        try {
+            pool.submit(() -> IntStream.range(0, games).parallel().forEach(i -> {
+                GameWorld world = worlds.get();
+                ticks[i] = play(world, Policy.named(policy, policySeeds[i]), seeds[i], maxTicks);
+                scores[i] = (int) world.score;
+            })).get();
+        } finally {
+            pool.shutdown();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        report(scores, Arrays.stream(ticks).sum(), elapsed);
+    }
+
+    /**
+     * Plays one game to the end (or {@code maxTicks}).
+     * Returns the number of ticks played; the score is left in {@code world}.
+     */
+    static int play(GameWorld world, Policy policy, long seed, int maxTicks) {
+        world.reset(seed);
+        int tick = 0;
+        while (!world.gameOver && tick < maxTicks) {
+            tick++;
+            world.step(policy.flap(world));
+        }
+        return tick;
+    }
+
+    /* -------------------- REPORT -------------------- */
+    void report(int[] scores, long totalTicks, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        Arrays.sort(scores);
+        double mean = Arrays.stream(scores).average().orElse(0);
+
+        System.out.printf("policy %s, %d games on %d threads in %.2f s%n", policy, games, threads, seconds);
+        System.out.printf("throughput: %.0f games/s, %.3g ticks/s%n", games / seconds, totalTicks / seconds);
+        System.out.printf("score: mean %.2f, min %d, p50 %d, p90 %d, p99 %d, max %d%n",
+                mean, scores[0], percentile(scores, 0.50), percentile(scores, 0.90),
+                percentile(scores, 0.99), scores[scores.length - 1]);
+    }
+
+    /** Nearest-rank percentile of a sorted array. */
+    static int percentile(int[] sorted, double p) {
+        int rank = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(rank, sorted.length - 1))];
+    }
+}
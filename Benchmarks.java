@@ -0,0 +1,197 @@
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Micro-benchmarks for the hot paths: physics ({@code move()}) at several pipe counts,
+ * the AABB {@code collision()} test, {@code placePipes()} and a full {@code draw()} into
+ * an offscreen image. Reports time and heap allocation per operation.
+ *
+ * Run headless:  java -Djava.awt.headless=true Benchmarks [name-filter]
+ * Add {@code --add-modules jdk.incubator.vector -Dflappy.simd=true} (with simd/ compiled)
+ * to include the vector collision kernel.
+ *
+ * Each benchmark gets {@value #WARMUP_ITERATIONS} warm-up and {@value #MEASURE_ITERATIONS}
+ * measured iterations of ~{@value #ITERATION_MILLIS} ms; results sink into {@link #sink}
+ * so the JIT can't drop the work.
+ */
+public class Benchmarks {
+
+    /* -------------------- HARNESS SETTINGS -------------------- */
+    static final int WARMUP_ITERATIONS = 3;
+    static final int MEASURE_ITERATIONS = 5;
+    static final long ITERATION_MILLIS = 1000;
+    static final int BATCH = 1000;     // ops between clock reads
+
+    /** Performs {@code n} operations of one benchmark. */
+    interface Op {
+        void run(int n);
+    }
+
+    static long sink;                  // consumes results so nothing is dead code
+
+    /* -------------------- BENCHMARKS -------------------- */
+    public static void main(String[] args) {
+        String filter = args.length > 0 ? args[0] : "";
+        System.out.printf("%-24s %12s %12s %12s%n", "benchmark", "ns/op", "+/- ns", "B/op");
+
+        for (int pipes = 0; pipes <= GameWorld.MAX_PIPES; pipes += 2) {
+            GameWorld world = worldWithPipes(pipes);
+            run(filter, "move/pipes=" + pipes, n -> {
+                placeFarRight(world);         // every batch starts from the same store; see PIPE_START_X
+                for (int i = 0; i < n; i++) {
+                    world.bird.y = world.birdY;   // keep the bird in range; move() would let it fall forever
+                    world.velocityY = 0;
+                    world.move();
+                }
+                sink += world.bird.y;
+            });
+        }
+
+        GameWorld world = new GameWorld(1);
+        int[] pipeXs = { world.birdX, world.pipeX };   // overlapping the bird / still off the right edge
+        int pipeY = world.birdY - 100;
+        run(filter, "collision", n -> {
+            int hits = 0;
+            for (int i = 0; i < n; i++) {
+                if (world.collision(world.bird, pipeXs[i & 1], pipeY)) {
+                    hits++;
+                }
+            }
+            sink += hits;
+        });
+
+        // whole-store scan as move() does it: two live pairs that miss, the rest empty slots
+        GameWorld store = worldWithPipes(4);
+        GameWorld.Bird b = store.bird;
+        PipeStore ps = store.pipes;
+        run(filter, "collision/store/scalar", n -> {
+            int hits = 0;
+            for (int i = 0; i < n; i++) {
+                if (BatchCollision.scalarAnyHit(ps.x, ps.y, ps.capacity, b.x, b.y + (i & 1), b.width, b.height,
+                        store.pipeWidth, store.pipeHeight)) {
+                    hits++;
+                }
+            }
+            sink += hits;
+        });
+        if (BatchCollision.VECTOR != null) {
+            run(filter, "collision/store/vector", n -> {
+                int hits = 0;
+                for (int i = 0; i < n; i++) {
+                    if (BatchCollision.vectorAnyHit(ps.x, ps.y, ps.capacity, b.x, b.y + (i & 1), b.width, b.height,
+                            store.pipeWidth, store.pipeHeight)) {
+                        hits++;
+                    }
+                }
+                sink += hits;
+            });
+        }
+
+        GameWorld spawner = new GameWorld(1);
+        run(filter, "placePipes", n -> {
+            for (int i = 0; i < n; i++) {
+                spawner.placePipes();
+            }
+            sink += spawner.pipes.size();
+        });
+
+        GameWorld scene = worldWithPipes(0);
+        scene.placePipes();
+        scene.pipes.x[0] = 200;                    // one pair fully on screen
+        scene.pipes.x[1] = 200;
+        scene.score = 12;
+        GameRenderer renderer = new GameRenderer(scene);
+        BufferedImage frame = new BufferedImage(scene.boardWidth, scene.boardHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = frame.createGraphics();
+        run(filter, "draw", n -> {
+            for (int i = 0; i < n; i++) {
+                renderer.draw(g, scene, (i & 7) / 8.0);
+            }
+            sink += frame.getRGB(0, 0);
+        });
+
+        GameRenderer layered = new GameRenderer(scene, true);
+        run(filter, "draw/parallax", n -> {
+            for (int i = 0; i < n; i++) {
+                scene.tick = i;                    // scroll a little further every frame
+                layered.draw(g, scene, (i & 7) / 8.0);
+            }
+            sink += frame.getRGB(0, 0);
+        });
+        g.dispose();
+
+        if (sink == 42) {
+            System.out.println();      // practically never; keeps sink observable
+        }
+    }
+
+    // Where placeFarRight() puts the first pair: a batch of BATCH move() calls scrolls pipes
+    // 4 px each, so from here they stay right of the bird (never passed, never evicted) all batch.
+    static final int PIPE_START_X = 100_000;
+
+    /** A world holding {@code pipes} pipes, placed by {@link #placeFarRight(GameWorld)}. */
+    static GameWorld worldWithPipes(int pipes) {
+        GameWorld world = new GameWorld(1);
+        for (int i = 0; i < pipes / 2; i++) {
+            world.placePipes();
+        }
+        placeFarRight(world);
+        return world;
+    }
+
+    /** Moves every pair back to {@link #PIPE_START_X}, 360 px apart, so the pipe count can't change mid-batch. */
+    static void placeFarRight(GameWorld world) {
+        for (int i = 0; i < world.pipes.size(); i++) {
+            world.pipes.x[world.pipes.slot(i)] = PIPE_START_X + (i / 2) * 360;
+        }
+    }
+
+    /* -------------------- HARNESS -------------------- */
+    /** Warms up and measures {@code op}, printing one result row. */
+    static void run(String filter, String name, Op op) {
+        if (!name.contains(filter)) {
+            return;
+        }
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            iteration(op);
+        }
+
+        double[] nsPerOp = new double[MEASURE_ITERATIONS];
+        long totalOps = 0;
+        long allocStart = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            long ops = iteration(op);
+            nsPerOp[i] = (double) (System.nanoTime() - start) / ops;
+            totalOps += ops;
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - allocStart;
+
+        double mean = 0;
+        for (double v : nsPerOp) {
+            mean += v / MEASURE_ITERATIONS;
+        }
+        double variance = 0;
+        for (double v : nsPerOp) {
+            variance += (v - mean) * (v - mean) / MEASURE_ITERATIONS;
+        }
+        System.out.printf("%-24s %12.2f %12.2f %12.2f%n",
+                name, mean, Math.sqrt(variance), (double) allocated / totalOps);
+    }
+
+    /** Runs batches of {@code op} for about {@link #ITERATION_MILLIS}; returns the op count. */
+    static long iteration(Op op) {
+        long deadline = System.nanoTime() + ITERATION_MILLIS * 1_000_000;
+        long ops = 0;
+        do {
+            op.run(BATCH);
+            ops += BATCH;
+        } while (System.nanoTime() < deadline);
+        return ops;
+    }
+}
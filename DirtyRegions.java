@@ -0,0 +1,116 @@
+import java.awt.Rectangle;
+
+/**
+ * Works out which parts of the board differ between the last painted frame and the next one,
+ * so the Swing renderer can repaint just those instead of the whole panel.
+ * Each moving object contributes the union of where it was and where it will be: the bird,
+ * each pipe (tracked by its store slot, which is stable for the pipe's lifetime) and the score
+ * line when its text changes. Rectangles are reused; nothing is allocated per frame.
+ */
+public class DirtyRegions {
+
+    final int boardWidth;
+    final int boardHeight;
+
+    /* -------------------- OUTPUT -------------------- */
+    final Rectangle[] rects;           // dirty rectangles of the current frame
+    int count = 0;                     // how many of rects are in use
+
+    /* -------------------- LAST PAINTED FRAME -------------------- */
+    boolean painted = false;           // false until the first full paint
+    int prevBirdY;
+    double prevScrolled;               // parallax scroll distance
+    final int[] prevPipeX;             // per store slot
+    final int[] prevPipeY;
+    final boolean[] prevLive;
+
+    DirtyRegions(GameWorld world) {
+        boardWidth = world.boardWidth;
+        boardHeight = world.boardHeight;
+        int slots = world.pipes.capacity;
+        rects = new Rectangle[slots + 4];          // pipes + bird + score + scrolling background + overlay
+        for (int i = 0; i < rects.length; i++) {
+            rects[i] = new Rectangle();
+        }
+        prevPipeX = new int[slots];
+        prevPipeY = new int[slots];
+        prevLive = new boolean[slots];
+    }
+
+    /**
+     * Fills {@link #rects} with what must be repainted to show {@code world} at {@code alpha}
+     * and remembers that frame as painted. Call with the world locked.
+     * @return the number of dirty rectangles (0 when nothing moved)
+     */
+    public int update(GameWorld world, GameRenderer renderer, double alpha) {
+        HudRenderer hud = renderer.hud;
+        count = 0;
+        if (!painted) {
+            rects[count++].setBounds(0, 0, boardWidth, boardHeight);   // first frame: everything
+        } else {
+            // parallax layers move whenever the world scrolls; the sky above them never does
+            if (renderer.parallax != null && ParallaxBackground.scrolled(world, alpha) != prevScrolled) {
+                int top = renderer.parallax.scrollingTop();
+                add(0, top, boardWidth, boardHeight - top);
+            }
+
+            // bird: old and new position
+            GameWorld.Bird bird = world.bird;
+            int birdY = GameRenderer.birdY(world, alpha);
+            add(bird.x, Math.min(prevBirdY, birdY), bird.width, Math.abs(birdY - prevBirdY) + bird.height);
+
+            // score line, only when its text changes
+            if (hud.changed((int) world.score, world.gameOver)) {
+                add(hud.x, hud.top, hud.line.getWidth(), hud.line.getHeight());
+            }
+        }
+        remember(world, alpha);
+        prevScrolled = ParallaxBackground.scrolled(world, alpha);
+        return count;
+    }
+
+    /** Records the frame about to be painted, adding pipe rectangles for anything that moved. */
+    void remember(GameWorld world, double alpha) {
+        PipeStore pipes = world.pipes;
+        int shift = GameRenderer.pipeShift(world, alpha);
+        int w = world.pipeWidth;
+        int h = world.pipeHeight;
+
+        // compare every slot against what it showed last frame
+        for (int slot = 0; slot < pipes.capacity; slot++) {
+            int i = (slot - pipes.head) & pipes.mask;   // live index of this slot
+            boolean isLive = i < pipes.size;
+            int x = pipes.x[slot] - shift;
+            int y = pipes.y[slot];
+            if (painted) {
+                if (isLive && prevLive[slot]) {
+                    if (x != prevPipeX[slot] || y != prevPipeY[slot]) {
+                        int left = Math.min(x, prevPipeX[slot]);
+                        add(left, Math.min(y, prevPipeY[slot]),
+                                Math.max(x, prevPipeX[slot]) + w - left, Math.abs(y - prevPipeY[slot]) + h);
+                    }
+                } else if (isLive) {
+                    add(x, y, w, h);                          // appeared
+                } else if (prevLive[slot]) {
+                    add(prevPipeX[slot], prevPipeY[slot], w, h); // removed (restart or eviction)
+                }
+            }
+            prevLive[slot] = isLive;
+            prevPipeX[slot] = x;
+            prevPipeY[slot] = y;
+        }
+        prevBirdY = GameRenderer.birdY(world, alpha);
+        painted = true;
+    }
+
+    /** Appends a rectangle clipped to the board; drops it if nothing of it is visible. */
+    void add(int x, int y, int w, int h) {
+        int x0 = Math.max(x, 0);
+        int y0 = Math.max(y, 0);
+        int x1 = Math.min(x + w, boardWidth);
+        int y1 = Math.min(y + h, boardHeight);
+        if (x0 < x1 && y0 < y1) {
+            rects[count++].setBounds(x0, y0, x1 - x0, y1 - y0);
+        }
+    }
+}
@@ -1,215 +1,405 @@
-import java.awt.*;               // Graphics, Color, Font, Dimension, Image, etc.
-import java.awt.event.*;        // KeyListener, ActionListener, KeyEvent, ActionEvent
-import java.util.ArrayList;     // Dynamic list to hold on-screen pipes
-import java.util.Random;        // Utility to randomise pipe heights
-import javax.swing.*;           // Swing widgets (JPanel, Timer, ImageIcon, etc.)
+import java.awt.*;               // Graphics, Color, Font, Dimension, Image, Toolkit, etc.
+import java.awt.event.*;        // KeyListener, KeyEvent
+import java.io.File;             // replay files
+import java.io.IOException;
+import java.time.LocalDateTime;      // replay file names
+import java.time.format.DateTimeFormatter;
+import java.util.SplittableRandom;   // per-game seeds from the master seed
+import java.util.concurrent.CompletableFuture;   // first-frame signal for startup timing
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.swing.*;           // Swing widgets (JPanel, etc.)
 
 /**
  * Main game panel that runs the Flappy-Bird clone.
- * Handles rendering, physics, user input and game loop.
+ * Renders a {@link GameWorld}, feeds it keyboard input and drives its game loop.
+ * The world is stepped on the {@link GameLoop} thread and painted on the EDT; key presses
+ * reach the loop thread through a lock-free {@link InputQueue}, and only painting needs to
+ * lock the world against a concurrent tick.
+ * In active-rendering mode the panel instead hosts a {@link GameCanvas} that the loop
+ * thread paints and flips directly. In dirty-region mode only the parts of the panel that
+ * changed since the last frame are repainted (see {@link DirtyRegions}).
  */
-public class FlappyBird extends JPanel implements ActionListener, KeyListener {
+public class FlappyBird extends JPanel implements GameLoop.Listener, KeyListener {
 
     /* -------------------- BOARD CONSTANTS -------------------- */
     int boardWidth = 360;   // playing area width (pixels)
     int boardHeight = 640;  // playing area height (pixels)
 
-    /* -------------------- IMAGE ASSETS -------------------- */
-    Image backgroundImg;   // sky background
-    Image birdImg;         // flappy bird sprite
-    Image topPipeImg;      // upper pipe image
-    Image bottomPipeImg;   // lower pipe image
-
-    /* -------------------- BIRD PROPERTIES -------------------- */
-    int birdX = boardWidth / 8;      // starting horizontal position
-    int birdY = boardHeight / 2;     // starting vertical position
-    int birdWidth = 34;              // collision box width
-    int birdHeight = 24;             // collision box height
-
-    /** Simple data container that bundles bird geometry + sprite. */
-    class Bird {
-        int x = birdX;
-        int y = birdY;
-        int width = birdWidth;
-        int height = birdHeight;
-        Image img;                     // sprite to draw
-
-        Bird(Image img) { this.img = img; }
-    }
-
-    /* -------------------- PIPE PROPERTIES -------------------- */
-    int pipeX = boardWidth;            // pipes spawn just off the right edge
-    int pipeY = 0;                     // top edge of pipe (will be offset randomly)
-    int pipeWidth = 64;                // pixel width of pipe image
-    int pipeHeight = 512;              // pixel height of pipe image
-
-    /** Simple data container for one pipe (top OR bottom). */
-    class Pipe {
-        int x = pipeX;
-        int y = pipeY;
-        int width = pipeWidth;
-        int height = pipeHeight;
-        Image img;
-        boolean passed = false;        // true when bird has crossed this pipe
-
-        Pipe(Image img) { this.img = img; }
-    }
-
-    /* -------------------- GAME PHYSICS / STATE -------------------- */
-    Bird bird;                         // player object
-    int velocityX = -4;                // horizontal speed of pipes (negative = left)
-    int velocityY = 0;                 // vertical speed of bird (updated by gravity & flaps)
-    int gravity = 1;                   // pixels per frame acceleration downward
-
-    ArrayList<Pipe> pipes;             // list of on-screen pipes
-    Random random = new Random();      // used to randomise gap height
-
-    Timer gameLoop;                    // 60 FPS update timer
-    Timer placePipesTimer;             // spawns new pipe pair every 1.5 s
-    boolean gameOver = false;          // flag set on collision
-    double score = 0;                  // increments each time bird passes a pipe pair
-
-    /* -------------------- CONSTRUCTOR -------------------- */
+    /* -------------------- GAME STATE -------------------- */
+    GameWorld world;                   // physics, pipes and score (no Swing inside)
+    SplittableRandom seeds;            // hands out one seed per game, from the master seed
+
+    /* -------------------- RENDERING -------------------- */
+    GameRenderer renderer;             // sprites + HUD, draws a world into any Graphics
+
+    // key presses, posted by the EDT and applied by the loop thread on the tick they fall in
+    final InputQueue input = new InputQueue(64);
+    volatile double renderAlpha = 1;           // interpolation factor for the next paint
+
+    GameLoop gameLoop;                 // fixed 60 Hz simulation thread
+    GameCanvas canvas;                 // active-rendering target, null in passive (repaint) mode
+    LatencyProbe latency;              // input-to-photon timing of flaps
+    long canvasFlap = 0;               // flap drawn into the canvas, not yet shown (loop thread)
+    final CompletableFuture<Long> firstFrame = new CompletableFuture<>();   // nanoTime of the first frame shown
+
+    /* -------------------- INSTRUMENTATION -------------------- */
+    static final Font OVERLAY_FONT = new Font(Font.MONOSPACED, Font.PLAIN, 11);
+    static final Color OVERLAY_BACKGROUND = new Color(0, 0, 0, 160);
+    static final Rectangle OVERLAY = new Rectangle(4, 516, 352, 106);   // over the ground strip
+
+    GameMetrics metrics;               // per-phase timing histograms
+    volatile boolean showMetrics = false;   // F3 toggles the debug overlay
+
+    /* -------------------- DIRTY-REGION PAINTING -------------------- */
+    DirtyRegions dirty;                // changed areas per frame, null = repaint everything
+    final AtomicBoolean dirtyPaintPending = new AtomicBoolean();   // a paintDirty() is queued
+    final Runnable paintDirty = this::paintDirtyRegions;           // posted to the EDT, reused
+    boolean paintingDirty = false;     // inside paintDirtyRegions() (EDT only)
+    double dirtyAlpha;                 // alpha the dirty regions were computed for
+    long dirtyDrawNanos;               // renderer time summed over this frame's regions
+
+    /* -------------------- REPLAYS -------------------- */
+    File recordDir;                    // where finished games are saved, null = don't record
+    ReplayRecorder recorder;           // records the current game, null when not recording
+    static final DateTimeFormatter REPLAY_STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    ReplayPlayer player;               // drives the world from a replay, null for live play
+
+    /* -------------------- CONSTRUCTORS -------------------- */
     FlappyBird() {
-        // preferred size for JPanel; JFrame will respect this when pack() is called
-        setPreferredSize(new Dimension(boardWidth, boardHeight));
+        this(new GameOptions());
+    }
 
-        setFocusable(true);            // allow panel to receive key events
-        addKeyListener(this);          // register ourselves for key callbacks
+    FlappyBird(GameOptions options) {
+        // every game's seed derives from the master seed, so a whole session replays exactly
+        seeds = new SplittableRandom(options.seed);
+        world = new GameWorld(seeds.nextLong());
+        if (options.replayFile != null) {
+            try {
+                player = new ReplayPlayer(Replay.load(options.replayFile));
+            } catch (IOException e) {
+                throw new IllegalArgumentException("cannot read replay " + options.replayFile, e);
+            }
+            world.reset(player.replay.seed);
+        }
+        recordDir = options.recordDir;
+        if (recordDir != null) {
+            recordDir.mkdirs();
+            recorder = new ReplayRecorder(world.seed);
+        }
 
-        // load image assets from project root (must be on classpath)
-        backgroundImg = new ImageIcon(getClass().getResource("./flappybirdbg.png")).getImage();
-        birdImg       = new ImageIcon(getClass().getResource("./flappybird.png")).getImage();
-        topPipeImg    = new ImageIcon(getClass().getResource("./toppipe.png")).getImage();
-        bottomPipeImg = new ImageIcon(getClass().getResource("./bottompipe.png")).getImage();
+        // preferred size for JPanel; JFrame will respect this when pack() is called
+        setPreferredSize(new Dimension(boardWidth, boardHeight));
 
-        bird = new Bird(birdImg);      // create player
-        pipes = new ArrayList<>();     // empty pipe list to start
+        if (options.activeRendering) {
+            // canvas fills the panel and takes over painting and keyboard focus
+            setLayout(new BorderLayout());
+            setIgnoreRepaint(true);
+            canvas = new GameCanvas(boardWidth, boardHeight, g -> {
+                synchronized (world) {
+                    draw(g, renderAlpha);
+                    if (canvasFlap == 0) {   // a redrawn lost buffer keeps the flap it already took
+                        canvasFlap = takeFlap(renderAlpha);
+                    }
+                }
+            });
+            canvas.addKeyListener(this);
+            add(canvas);
+        } else {
+            setFocusable(true);        // allow panel to receive key events
+            addKeyListener(this);      // register ourselves for key callbacks
+            if (options.dirtyRegions) {
+                dirty = new DirtyRegions(world);
+            }
+        }
+        String mode = options.activeRendering ? "active" : options.dirtyRegions ? "dirty" : "passive";
+        latency = new LatencyProbe(mode);
+        metrics = new GameMetrics(mode);
 
-        // timer that repeatedly calls placePipes() every 1.5 seconds
-        placePipesTimer = new Timer(1500, e -> placePipes());
-        placePipesTimer.start();
+        // load image assets from project root (must be on classpath), scaled once
+        renderer = new GameRenderer(world, options.parallax);
 
-        // 60 FPS game loop: calls actionPerformed() repeatedly
-        gameLoop = new Timer(1000 / 60, this);
+        // fixed-step game loop: calls update() at 60 Hz and render() once per frame
+        gameLoop = new GameLoop(this);
         gameLoop.start();
     }
 
-    /* -------------------- PIPE SPAWNING -------------------- */
-    /** Creates a new top + bottom pipe pair with a randomly positioned gap. */
-    public void placePipes() {
-        // randomise top pipe's top-left y so gap moves up/down each time
-        int randomPipeY = (int) (pipeY - pipeHeight / 4 - Math.random() * (pipeHeight / 2));
-        int openingSpace = boardHeight / 4;   // vertical size of gap bird must fly through
-
-        Pipe topPipe = new Pipe(topPipeImg);
-        topPipe.y = randomPipeY;
-        pipes.add(topPipe);
-
-        Pipe bottomPipe = new Pipe(bottomPipeImg);
-        bottomPipe.y = topPipe.y + pipeHeight + openingSpace;
-        pipes.add(bottomPipe);
-    }
-
     /* -------------------- RENDERING -------------------- */
     /** Swing calls this automatically when we call repaint(). */
     public void paintComponent(Graphics g) {
+        if (canvas != null) {
+            // active rendering: the canvas covers the panel and the loop thread paints it.
+            // setIgnoreRepaint() doesn't stop Swing painting a lightweight panel on show/expose,
+            // and that frame would be hidden yet still take the pending flap and complete firstFrame
+            return;
+        }
+        if (paintingDirty) {       // one region of paintDirtyRegions(); it does the bookkeeping
+            super.paintComponent(g);
+            dirtyDrawNanos += drawWorld(g, dirtyAlpha);
+            if (showMetrics) {
+                drawMetrics(g);
+            }
+            return;
+        }
+
+        long start = System.nanoTime();
+        long flap;
         super.paintComponent(g);   // let JPanel do its default clearing
-        draw(g);                   // our custom painting
+        synchronized (world) {     // loop thread may be mid-tick
+            draw(g, renderAlpha);  // our custom painting
+            flap = takeFlap(renderAlpha);   // the flap this frame shows, read with the state it drew
+            if (dirty != null) {
+                dirty.painted = false;   // Swing painted on its own: resync with a full frame next
+            }
+        }
+        Toolkit.getDefaultToolkit().sync();
+        presented(System.nanoTime(), flap);
+        metrics.paint.record(System.nanoTime() - start);
+        metrics.paintedPixels += (long) boardWidth * boardHeight;
     }
 
-    /** Draws background, bird, pipes and score on every frame. */
+    /** Repaints only what changed since the last frame, region by region (EDT). */
+    void paintDirtyRegions() {
+        dirtyPaintPending.set(false);
+        long start = System.nanoTime();
+        long pixels = 0;
+        long flap;
+        synchronized (world) {     // regions and painted pixels must come from the same state
+            dirtyAlpha = renderAlpha;
+            int n = dirty.update(world, renderer, dirtyAlpha);
+            if (showMetrics) {
+                dirty.add(OVERLAY.x, OVERLAY.y, OVERLAY.width, OVERLAY.height);   // its text changes too
+                n = dirty.count;
+            }
+            // one draw sample and one Draw event per frame, as in the other modes,
+            // not one per region: clipped region draws aren't comparable to full frames
+            GameEvents.Draw event = new GameEvents.Draw();
+            event.begin();
+            dirtyDrawNanos = 0;
+            paintingDirty = true;
+            try {
+                // one paintImmediately per region: repaint(Rectangle) would be coalesced by
+                // the RepaintManager into a single bounding box spanning bird and pipes
+                for (int i = 0; i < n; i++) {
+                    Rectangle r = dirty.rects[i];
+                    paintImmediately(r);
+                    pixels += (long) r.width * r.height;
+                }
+            } finally {
+                paintingDirty = false;
+            }
+            event.end();
+            if (n > 0) {               // nothing changed: no frame was drawn
+                metrics.draw.record(dirtyDrawNanos);
+                commitDraw(event);
+            }
+            flap = takeFlap(dirtyAlpha);
+        }
+        Toolkit.getDefaultToolkit().sync();
+        presented(System.nanoTime(), flap);
+        metrics.paint.record(System.nanoTime() - start);
+        metrics.paintedPixels += pixels;
+    }
+
+    /** Keyboard focus belongs to the canvas when rendering actively. */
+    @Override
+    public void requestFocus() {
+        if (canvas != null) {
+            canvas.requestFocus();
+        } else {
+            super.requestFocus();
+        }
+    }
+
+    /** Draws the latest tick as-is (no interpolation). */
     public void draw(Graphics g) {
-        // draw sky background (scaled to panel size)
-        g.drawImage(backgroundImg, 0, 0, boardWidth, boardHeight, null);
+        draw(g, 1);
+    }
 
-        // draw bird sprite
-        g.drawImage(bird.img, bird.x, bird.y, bird.width, bird.height, null);
+    /** Draws one frame, {@code alpha} of the way from the last tick to the next. */
+    public void draw(Graphics g, double alpha) {
+        GameEvents.Draw event = new GameEvents.Draw();
+        event.begin();
+        metrics.draw.record(drawWorld(g, alpha));
+        event.end();
+        commitDraw(event);
+        if (showMetrics) {
+            drawMetrics(g);
+        }
+    }
+
+    /** Renders the world alone (no overlay, no bookkeeping); returns how long it took (ns). */
+    long drawWorld(Graphics g, double alpha) {
+        long start = System.nanoTime();
+        renderer.draw(g, world, alpha);
+        return System.nanoTime() - start;
+    }
 
-        // draw every pipe in list
-        for (Pipe pipe : pipes) {
-            g.drawImage(pipe.img, pipe.x, pipe.y, pipe.width, pipe.height, null);
+    /** Fills in and commits a finished Draw event, if it is being recorded. */
+    void commitDraw(GameEvents.Draw event) {
+        if (event.shouldCommit()) {
+            event.pipeCount = world.pipes.size;
+            event.score = (int) world.score;
+            event.commit();
         }
+    }
 
-        // draw score (white, 32 pt Arial)
+    /** Debug overlay: per-phase percentiles of the last second. */
+    void drawMetrics(Graphics g) {
+        g.setColor(OVERLAY_BACKGROUND);
+        g.fillRect(OVERLAY.x, OVERLAY.y, OVERLAY.width, OVERLAY.height);
         g.setColor(Color.white);
-        g.setFont(new Font("Arial", Font.PLAIN, 32));
-        if (gameOver) {
-            g.drawString("Game Over: " + (int) score, 10, 35);
-        } else {
-            g.drawString(String.valueOf((int) score), 10, 35);
+        g.setFont(OVERLAY_FONT);
+        String[] lines = metrics.overlay;
+        for (int i = 0; i < lines.length; i++) {
+            g.drawString(lines[i], OVERLAY.x + 4, OVERLAY.y + 13 + i * 14);
         }
     }
 
-    /* -------------------- PHYSICS & COLLISIONS -------------------- */
-    /** Updates bird position, pipe positions, and checks for collisions each frame. */
-    public void move() {
-        // apply gravity to vertical velocity, then move bird
-        velocityY += gravity;
-        bird.y += velocityY;
-        bird.y = Math.max(bird.y, 0);   // can't go above screen top
-
-        // scroll pipes left and test for pass / collision
-        for (int i = 0; i < pipes.size(); i++) {
-            Pipe pipe = pipes.get(i);
-            pipe.x += velocityX;   // negative value moves pipe left
+    /* -------------------- GAME LOOP CALLBACKS -------------------- */
+    /** Called on the loop thread once per 60 Hz tick; applies key presses made before {@code tickEnd}. */
+    @Override
+    public void update(long tickEnd) {
+        boolean flap = false;
+        boolean restart = false;
+        long pressedAt = 0;            // earliest press folded into this tick's flap
+        for (long t; (t = input.peekTime()) <= tickEnd; ) {
+            input.poll();              // SPACE is the only event type
+            if (world.gameOver && !restart) {
+                restart = true;        // space after game over restarts; it is not a flap
+            } else if (!flap) {
+                flap = true;           // later presses in the same tick are the same flap
+                pressedAt = t;
+            }
+        }
+        if (player != null) {          // replay supplies this tick's input instead
+            int symbol = player.hasNext() ? player.next() : 0;
+            flap = (symbol & Replay.FLAP) != 0;
+        }
 
-            // if bird has passed this pipe, award 0.5 score (top + bottom = 1 point)
-            if (!pipe.passed && bird.x > pipe.x + pipe.width) {
-                pipe.passed = true;
-                score += 0.5;
+        Replay finished = null;        // saved once the world is unlocked
+        synchronized (world) {
+            if (restart) {
+                GameEvents.Restart event = new GameEvents.Restart();
+                event.begin();
+                event.pipeCount = world.pipes.size;
+                event.score = (int) world.score;
+                world.reset(seeds.nextLong());   // bird, pipes and score back to start
+                event.seed = world.seed;
+                event.commit();
+                if (recordDir != null) {
+                    recorder = new ReplayRecorder(world.seed);
+                }
+            }
+            boolean wasOver = world.gameOver;
+            GameEvents.Tick event = new GameEvents.Tick();
+            event.begin();
+            long allocated = GameMetrics.allocatedBytes();
+            long start = System.nanoTime();
+            world.step(flap);          // update physics (frozen while game over)
+            metrics.tick.record(System.nanoTime() - start);
+            metrics.stepAllocated += GameMetrics.allocatedBytes() - allocated;
+            event.end();
+            if (event.shouldCommit()) {
+                event.pipeCount = world.pipes.size;
+                event.score = (int) world.score;
+                event.flap = flap;
+                event.commit();
+            }
+            if (!wasOver && world.tick % GameWorld.SPAWN_INTERVAL_TICKS == 0) {
+                GameEvents.PlacePipes spawn = new GameEvents.PlacePipes();   // step() just spawned a pair
+                spawn.pipeCount = world.pipes.size;
+                spawn.score = (int) world.score;
+                spawn.commit();
             }
 
-            // simple AABB collision test
-            if (collision(bird, pipe)) {
-                gameOver = true;
+            if (recorder != null && !wasOver) {
+                recorder.tick(flap);
+                if (world.gameOver) {
+                    finished = recorder.finish((int) world.score);
+                    recorder = null;
+                }
             }
+            if (pressedAt != 0) {
+                latency.applied(pressedAt);   // under the lock: no paint can draw this tick before it's recorded
+            }
+        }
+        if (finished != null) {
+            saveRecording(finished);   // file I/O: keep it out of the lock the paint waits on
         }
+    }
 
-        // bird fell off bottom of screen
-        if (bird.y > boardHeight) {
-            gameOver = true;
+    /** Writes a finished game to the record directory (loop thread, world not locked). */
+    void saveRecording(Replay replay) {
+        // the seed alone isn't unique: with --seed every session plays the same seed sequence
+        String name = String.format("replay-%016x-%s", replay.seed, LocalDateTime.now().format(REPLAY_STAMP));
+        File file = new File(recordDir, name + ".fbr");
+        for (int n = 2; file.exists(); n++) {
+            file = new File(recordDir, name + "-" + n + ".fbr");   // never overwrite an earlier game
+        }
+        try {
+            replay.save(file);
+            System.out.println("saved " + file + " (" + replay.ticks + " ticks, score " + replay.score + ")");
+        } catch (IOException e) {
+            System.err.println("cannot save replay " + file + ": " + e);
         }
     }
 
-    /** Axis-aligned bounding box collision between bird and a pipe. */
-    public boolean collision(Bird a, Pipe b) {
-        return a.x < b.x + b.width &&
-               a.x + a.width > b.x &&
-               a.y < b.y + b.height &&
-               a.y + a.height > b.y;
+    /**
+     * The pending flap for a frame just drawn at {@code alpha} (world locked), or 0. Only a frame
+     * that shows the latest tick in full gets it: one drawn part of the way into the flap tick
+     * still has the bird near its old height, and crediting it would under-report tick->frame.
+     */
+    long takeFlap(double alpha) {
+        return GameRenderer.lag(world, alpha) == 0 ? latency.take() : 0;
     }
 
-    /* -------------------- GAME LOOP CALLBACK -------------------- */
-    /** Called by Swing Timer every 16 ms (~60 FPS). */
-    @Override
-    public void actionPerformed(ActionEvent e) {
-        move();                // update physics
-        repaint();             // request Swing to paint again
+    /**
+     * A frame was just handed to the display (loop thread or EDT, depending on the mode);
+     * {@code flap} is what {@link LatencyProbe#take()} returned while it was drawn.
+     */
+    void presented(long now, long flap) {
+        latency.presented(now, flap);
+        if (!firstFrame.isDone()) {
+            firstFrame.complete(now);
+        }
+    }
 
-        // stop timers when game ends
-        if (gameOver) {
-            placePipesTimer.stop();
-            gameLoop.stop();
+    /** Called on the loop thread once per frame. */
+    @Override
+    public void render(double alpha) {
+        metrics.frameStart(System.nanoTime());
+        renderAlpha = alpha;
+        if (dirty != null) {
+            if (dirtyPaintPending.compareAndSet(false, true)) {
+                SwingUtilities.invokeLater(paintDirty);   // at most one queued at a time
+            }
+        } else if (canvas == null) {
+            repaint();                 // request Swing to paint again
+        } else if (canvas.render()) {  // paint and flip right here on the loop thread
+            presented(System.nanoTime(), canvasFlap);
+            canvasFlap = 0;
         }
     }
 
     /* -------------------- KEYBOARD INPUT -------------------- */
     @Override
     public void keyPressed(KeyEvent e) {
-        if (e.getKeyCode() == KeyEvent.VK_SPACE) {
-            velocityY = -25;   // flap: instant upward boost
-            if (gameOver) {    // space also restarts game
-                // reset bird position & physics
-                bird.y = birdY;
-                velocityY = 0;
-                pipes.clear();
-                score = 0;
-                gameOver = false;
-                // restart timers
-                gameLoop.start();
-                placePipesTimer.start();
+        if (e.getKeyCode() == KeyEvent.VK_F3) {
+            showMetrics = !showMetrics;
+            if (dirty != null) {
+                synchronized (world) {
+                    dirty.painted = false;   // overlay appears/vanishes: repaint everything once
+                }
             }
+            return;
+        }
+        if (player != null) {
+            return;                    // watching a replay: the keyboard has no say
+        }
+        if (e.getKeyCode() == KeyEvent.VK_SPACE) {
+            // flap, or restart if the game is over by then; the tick decides. A press can
+            // only be lost if the loop thread has fallen a whole queue (64 presses) behind.
+            input.offer(InputQueue.SPACE, System.nanoTime());
         }
     }
 
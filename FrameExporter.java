@@ -0,0 +1,201 @@
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import javax.imageio.ImageIO;
+
+/**
+ * Renders a recorded game offscreen, one frame per tick, and writes it out as video frames
+ * without a display: a PNG sequence ({@code frame_000000.png}, ...) or a single raw RGB stream
+ * ({@code frames.rgb}, 24 bits per pixel, readable with
+ * {@code ffmpeg -f rawvideo -pix_fmt rgb24 -s 360x640 -r 60 -i frames.rgb}).
+ *
+ * Frames flow through a ring of preallocated images. The calling thread steps the world and
+ * draws each frame straight into the next free slot; N encoder threads each take the oldest
+ * frame nobody has claimed, encode it into a buffer of their own, then wait for their turn so
+ * frames reach the disk strictly in order, and only then hand the slot back. When every slot is
+ * still being encoded or waiting to be written, rendering blocks: memory stays fixed and the
+ * pipeline runs at the speed of its slowest stage, which with enough cores is no longer the
+ * single-threaded PNG encoder.
+ */
+public class FrameExporter {
+
+    enum Format { PNG, RGB }
+
+    static final int SLOTS_PER_THREAD = 2;   // one being encoded, one rendered and waiting
+
+    final GameWorld world;
+    final GameRenderer renderer;
+    final File dir;
+    final Format format;
+    final int width;
+    final int height;
+    final int threads;
+
+    /* -------------------- RING OF FRAMES -------------------- */
+    final BufferedImage[] slots;       // frame k lives in slots[k % slots.length]
+    final int[][] slotPixels;          // each slot's backing array
+
+    // pipeline state, guarded by this
+    int rendered = 0;                  // frames drawn and handed to the encoders
+    int claimed = 0;                   // frames taken by an encoder
+    int written = 0;                   // frames on disk; their slots are free again
+    boolean finished = false;          // no more frames will be rendered
+    IOException failure;               // first write error; stops every stage
+
+    OutputStream raw;                  // frames.rgb, for Format.RGB (written in turn, so unshared)
+
+    FrameExporter(GameWorld world, File dir, Format format, int threads, boolean parallax) {
+        this.world = world;
+        this.renderer = new GameRenderer(world, parallax);
+        this.dir = dir;
+        this.format = format;
+        this.threads = threads;
+        width = world.boardWidth;
+        height = world.boardHeight;
+        slots = new BufferedImage[threads * SLOTS_PER_THREAD];
+        slotPixels = new int[slots.length][];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            slotPixels[i] = ((DataBufferInt) slots[i].getRaster().getDataBuffer()).getData();
+        }
+    }
+
+    /** Replays {@code replay} from its seed and exports one frame before the first tick and one per tick. */
+    public int export(Replay replay) throws IOException, InterruptedException {
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("cannot create " + dir);
+        }
+        ImageIO.setUseCache(false);    // encode to memory, not through temp files
+        if (format == Format.RGB) {
+            raw = new BufferedOutputStream(new FileOutputStream(new File(dir, "frames.rgb")), 1 << 16);
+        }
+        Thread[] encoders = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            encoders[i] = new Thread(this::encodeLoop, "frame-encoder-" + i);
+            encoders[i].setDaemon(true);
+            encoders[i].start();
+        }
+
+        try {
+            ReplayPlayer player = new ReplayPlayer(replay);
+            world.reset(replay.seed);
+            frame();
+            while (player.hasNext()) {
+                ReplayPlayer.apply(world, player.next());
+                frame();
+            }
+        } finally {
+            synchronized (this) {
+                finished = true;
+                notifyAll();
+            }
+            for (Thread t : encoders) {
+                t.join();
+            }
+            if (raw != null) {
+                raw.close();
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return rendered;
+    }
+
+    /* -------------------- RENDER STAGE (calling thread) -------------------- */
+    /** Draws the current tick into the next free slot and publishes it to the encoders. */
+    void frame() throws IOException, InterruptedException {
+        synchronized (this) {
+            while (rendered - written == slots.length && failure == null) {
+                wait();                // backpressure: every slot is still in flight
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+        Graphics g = slots[rendered % slots.length].getGraphics();
+        renderer.draw(g, world, 1);    // on a tick exactly: nothing to interpolate
+        g.dispose();
+        synchronized (this) {
+            rendered++;
+            notifyAll();
+        }
+    }
+
+    /* -------------------- ENCODE + WRITE STAGE (encoder threads) -------------------- */
+    void encodeLoop() {
+        ByteArrayOutputStream png = new ByteArrayOutputStream(1 << 16);   // reused per frame
+        byte[] rgb = format == Format.RGB ? new byte[width * height * 3] : null;
+        try {
+            while (true) {
+                int k;
+                synchronized (this) {
+                    while (claimed == rendered && !finished && failure == null) {
+                        wait();
+                    }
+                    if (claimed == rendered || failure != null) {
+                        return;        // all frames taken, or the export has failed
+                    }
+                    k = claimed++;
+                }
+
+                // encode in parallel with the other workers
+                int slot = k % slots.length;
+                if (format == Format.RGB) {
+                    toRgb(slotPixels[slot], rgb);
+                } else {
+                    png.reset();
+                    if (!ImageIO.write(slots[slot], "png", png)) {
+                        throw new IOException("no PNG writer");
+                    }
+                }
+
+                // write strictly in frame order
+                synchronized (this) {
+                    while (written != k && failure == null) {
+                        wait();
+                    }
+                    if (failure != null) {
+                        return;
+                    }
+                }
+                if (format == Format.RGB) {
+                    raw.write(rgb);
+                } else {
+                    try (OutputStream out = new FileOutputStream(new File(dir, String.format("frame_%06d.png", k)))) {
+                        png.writeTo(out);
+                    }
+                }
+                synchronized (this) {
+                    written++;         // frees slot k for frame k + slots.length
+                    notifyAll();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            synchronized (this) {      // a worker that dies must not leave the others waiting on it
+                if (failure == null) {
+                    failure = e instanceof IOException ? (IOException) e : new IOException(e);
+                }
+                notifyAll();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Packs 0xRRGGBB ints into rgb24 bytes. */
+    static void toRgb(int[] pixels, byte[] rgb) {
+        for (int i = 0, j = 0; i < pixels.length; i++, j += 3) {
+            int p = pixels[i];
+            rgb[j] = (byte) (p >> 16);
+            rgb[j + 1] = (byte) (p >> 8);
+            rgb[j + 2] = (byte) p;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+import java.awt.*;               // Canvas, Graphics, Dimension, Toolkit
+import java.awt.image.BufferStrategy;
+
+/**
+ * Heavyweight canvas for active rendering.
+ * The game loop paints straight into a triple-buffered {@link BufferStrategy} and flips it,
+ * skipping Swing's repaint queue and the EDT altogether.
+ */
+public class GameCanvas extends Canvas {
+    private static final long serialVersionUID = 1L;
+
+    /** Paints one complete frame into the given back buffer. */
+    interface Painter {
+        void paint(Graphics g);
+    }
+
+    static final int BUFFERS = 3;      // triple buffering: never wait for the flip to finish drawing
+
+    final transient Painter painter;
+    transient BufferStrategy strategy; // created lazily once the canvas is on screen
+
+    GameCanvas(int width, int height, Painter painter) {
+        this.painter = painter;
+        setPreferredSize(new Dimension(width, height));
+        setIgnoreRepaint(true);        // we paint ourselves; ignore OS paint requests
+        setFocusable(true);            // key events come to the canvas in active mode
+    }
+
+    /**
+     * Paints and presents one frame.
+     * @return false if the canvas is not displayable yet and nothing was drawn
+     */
+    public boolean render() {
+        if (!isDisplayable()) {
+            return false;
+        }
+        if (strategy == null) {
+            createBufferStrategy(BUFFERS);
+            strategy = getBufferStrategy();
+        }
+
+        // standard BufferStrategy dance: redraw if the back buffer was lost mid-frame
+        do {
+            do {
+                Graphics g = strategy.getDrawGraphics();
+                try {
+                    painter.paint(g);
+                } finally {
+                    g.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+
+        Toolkit.getDefaultToolkit().sync();   // push the flip out now (matters on X11)
+        return true;
+    }
+}
@@ -0,0 +1,75 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Custom JDK Flight Recorder events for the game loop phases, so frame spikes can be lined up
+ * against GC pauses and safepoints in JDK Mission Control. Each carries the pipe count and
+ * score at the time. Stack traces are off: the call sites are fixed and it keeps events cheap.
+ *
+ * Record with e.g. {@code java -XX:StartFlightRecording=filename=game.jfr App}.
+ *
+ * Events are only emitted from {@link FlappyBird}: the headless engine ({@link GameWorld},
+ * replay verification, {@link BatchRunner}) never loads JFR.
+ */
+final class GameEvents {
+
+    private GameEvents() { }
+
+    /**
+     * Loads every event class, and JFR with the first one. Left to the game, the first event
+     * would pay that (300-400 ms) on the loop thread mid-tick; App runs this in the background
+     * while the window is built. Nothing is committed, so a recording gets no fake events.
+     */
+    static void warmUp() {
+        new Tick().isEnabled();
+        new Draw().isEnabled();
+        new PlacePipes().isEnabled();
+        new Restart().isEnabled();
+    }
+
+    @Name("flappybird.Tick")
+    @Label("Tick")
+    @Category("Flappy Bird")
+    @Description("One simulation step: GameWorld.step(), i.e. move() plus spawning")
+    @StackTrace(false)
+    static class Tick extends Event {
+        @Label("Pipe Count") int pipeCount;
+        @Label("Score") int score;
+        @Label("Flap") boolean flap;
+    }
+
+    @Name("flappybird.Draw")
+    @Label("Draw")
+    @Category("Flappy Bird")
+    @Description("Rendering one frame of the world")
+    @StackTrace(false)
+    static class Draw extends Event {
+        @Label("Pipe Count") int pipeCount;
+        @Label("Score") int score;
+    }
+
+    @Name("flappybird.PlacePipes")
+    @Label("Place Pipes")
+    @Category("Flappy Bird")
+    @Description("A new pipe pair spawned during this tick")
+    @StackTrace(false)
+    static class PlacePipes extends Event {
+        @Label("Pipe Count") int pipeCount;
+        @Label("Score") int score;
+    }
+
+    @Name("flappybird.Restart")
+    @Label("Restart")
+    @Category("Flappy Bird")
+    @Description("Resetting the world for a new game after game over")
+    @StackTrace(false)
+    static class Restart extends Event {
+        @Label("Pipe Count") int pipeCount;
+        @Label("Score") @Description("Score of the game that just ended") int score;
+        @Label("Seed") long seed;
+    }
+}
@@ -0,0 +1,94 @@
+import java.util.concurrent.locks.LockSupport;   // sub-millisecond sleeps between frames
+
+/**
+ * Fixed-timestep game loop running on its own thread.
+ * The simulation always advances in whole 60 Hz ticks (catching up after a stall), and one
+ * frame is rendered after each pass. The loop sleeps until the next tick is due, so frames are
+ * locked to ticks and always show the tick just simulated (alpha 1): interpolating by the
+ * sliver of a tick left over would only draw everything a tick in the past.
+ */
+public class GameLoop implements Runnable {
+
+    /** What the loop drives: one physics tick, or one frame at a given interpolation. */
+    interface Listener {
+        void update(long tickEnd);     // advance by exactly one tick, covering real time up to tickEnd (nanoTime)
+        void render(double alpha);     // draw state alpha (0..1) of the way into the next tick
+    }
+
+    /* -------------------- TIMING CONSTANTS -------------------- */
+    static final int TICKS_PER_SECOND = 60;
+    static final long TICK_NANOS = 1_000_000_000L / TICKS_PER_SECOND;
+    static final int MAX_CATCH_UP_TICKS = 5;     // after a long stall, skip ahead instead of spiralling
+
+    /* -------------------- STATE -------------------- */
+    final Listener listener;
+    Thread thread;                     // loop thread, null until start(); runs until the JVM exits
+    int failures = 0;                  // listener exceptions caught so far (loop thread)
+
+    GameLoop(Listener listener) { this.listener = listener; }
+
+    /** Starts the loop thread (no-op if already started). There is no stop: it is a daemon. */
+    public synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        thread = new Thread(this, "game-loop");
+        thread.setDaemon(true);        // don't keep the JVM alive once the window closes
+        thread.start();
+    }
+
+    /* -------------------- LOOP BODY -------------------- */
+    @Override
+    public void run() {
+        long previous = System.nanoTime();
+        long accumulator = 0;          // real time not yet consumed by ticks
+
+        while (true) {
+            long now = System.nanoTime();
+            accumulator += now - previous;
+            previous = now;
+
+            try {
+                // run as many fixed ticks as real time demands; each one covers the next
+                // TICK_NANOS of real time after what the simulation has already caught up to
+                long simulated = now - accumulator;
+                int ticks = 0;
+                while (accumulator >= TICK_NANOS && ticks < MAX_CATCH_UP_TICKS) {
+                    simulated += TICK_NANOS;
+                    listener.update(simulated);
+                    accumulator -= TICK_NANOS;
+                    ticks++;
+                }
+                if (accumulator >= TICK_NANOS) {
+                    accumulator %= TICK_NANOS;   // still behind: drop the backlog, keep the phase
+                }
+
+                // the leftover is ~1% of a tick here (we woke as this tick fell due), so
+                // lag = 1 - alpha would be a whole tick: show the latest tick as it is
+                listener.render(1);
+            } catch (RuntimeException e) {
+                failed(e);             // an uncaught exception would end the thread and freeze the window
+            }
+
+            // sleep until the next tick is due
+            long sleep = TICK_NANOS - accumulator - (System.nanoTime() - now);
+            if (sleep > 0) {
+                LockSupport.parkNanos(sleep);
+            }
+        }
+    }
+
+    /**
+     * Logs a listener exception: the first with its stack trace, then one line at every power
+     * of two, so an exception that repeats every tick can't flood stderr.
+     */
+    void failed(RuntimeException e) {
+        failures++;
+        if (failures == 1) {
+            System.err.println("game loop: listener failed, carrying on with the next frame");
+            e.printStackTrace();
+        } else if (Integer.bitCount(failures) == 1) {
+            System.err.println("game loop: " + failures + " listener failures so far, latest: " + e);
+        }
+    }
+}
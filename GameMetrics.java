@@ -0,0 +1,142 @@
+import java.lang.management.ManagementFactory;
+
+/**
+ * Per-phase timing for diagnosing stutter: how long ticks, draws and paints take, how far apart
+ * frames are, and how many frames missed their slot. Allocation is tracked too: bytes allocated
+ * inside GameWorld.step() (expected to be zero) and by the loop thread as a whole, read from
+ * the JVM's per-thread allocation counter. Timings go into {@link Histogram}s; every
+ * second the loop thread turns the last second into overlay text, and every
+ * {@value #LOG_EVERY_SECONDS} s prints a p50/p99/p999 log line.
+ */
+public class GameMetrics {
+
+    static final long SECOND = 1_000_000_000L;
+    static final int LOG_EVERY_SECONDS = 5;
+    static final long DROP_THRESHOLD = GameLoop.TICK_NANOS * 3 / 2;   // frame gap that misses a slot
+    static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /* -------------------- LIVE HISTOGRAMS (single writer each) -------------------- */
+    final Histogram tick = new Histogram();    // GameWorld.step() incl. move() (loop thread)
+    final Histogram draw = new Histogram();    // GameRenderer.draw() (whichever thread paints)
+    final Histogram frame = new Histogram();   // gap between frames (loop thread)
+    final Histogram paint = new Histogram();   // full Swing paint incl. dirty regions (EDT)
+
+    volatile long droppedFrames = 0;   // frames later than DROP_THRESHOLD (loop thread)
+    volatile long paintedPixels = 0;   // pixels repainted by Swing paints (EDT)
+    volatile long stepAllocated = 0;   // bytes allocated inside GameWorld.step() (loop thread)
+    long loopAllocated = 0;            // bytes allocated by the loop thread, as of the last frame
+    long lastFrameStart = 0;           // loop thread
+
+    /* -------------------- REPORTING (loop thread) -------------------- */
+    final String mode;                 // rendering mode, printed in log lines
+    final Window overlayWindow = new Window();
+    final Window logWindow = new Window();
+    volatile String[] overlay = { "collecting..." };   // lines for the debug overlay
+    long nextOverlay = 0;
+    int overlaysSinceLog = 0;
+
+    GameMetrics(String mode) { this.mode = mode; }
+
+    /** Marks the start of a frame on the loop thread; refreshes reports when due. */
+    public void frameStart(long now) {
+        if (lastFrameStart != 0) {
+            long gap = now - lastFrameStart;
+            frame.record(gap);
+            if (gap > DROP_THRESHOLD) {
+                droppedFrames++;
+            }
+        }
+        lastFrameStart = now;
+        loopAllocated = allocatedBytes();
+
+        if (now >= nextOverlay) {
+            if (nextOverlay != 0) {
+                overlay = overlayWindow.roll(this).lines();
+                if (++overlaysSinceLog == LOG_EVERY_SECONDS) {
+                    overlaysSinceLog = 0;
+                    System.out.println(logWindow.roll(this).logLine(mode));
+                }
+            }
+            nextOverlay = now + SECOND;
+        }
+    }
+
+    /** Bytes allocated so far by the calling thread; 0 if the JVM doesn't track it. */
+    static long allocatedBytes() {
+        return Math.max(THREADS.getCurrentThreadAllocatedBytes(), 0);
+    }
+
+    /** Interval view of all phases since its previous roll(). */
+    static class Window {
+        final Histogram[] base = { new Histogram(), new Histogram(), new Histogram(), new Histogram() };
+        final Histogram[] interval = { new Histogram(), new Histogram(), new Histogram(), new Histogram() };
+        long baseDropped = 0;
+        long basePixels = 0;
+        long baseStep = 0;
+        long baseLoop = 0;
+        long baseTime = 0;
+        long dropped = 0;
+        long pixels = 0;
+        long stepBytes = 0;            // allocated inside step() during the interval
+        long loopBytes = 0;            // allocated by the loop thread during the interval
+        long nanos = 0;                // interval length
+
+        Window roll(GameMetrics m) {
+            Histogram[] live = { m.tick, m.draw, m.frame, m.paint };
+            for (int i = 0; i < live.length; i++) {
+                interval[i].intervalOf(live[i], base[i]);
+            }
+            long d = m.droppedFrames;
+            long p = m.paintedPixels;
+            dropped = d - baseDropped;
+            pixels = p - basePixels;
+            baseDropped = d;
+            basePixels = p;
+
+            long s = m.stepAllocated;
+            long l = m.loopAllocated;
+            long t = m.lastFrameStart;
+            stepBytes = s - baseStep;
+            loopBytes = l - baseLoop;
+            nanos = baseTime == 0 ? 0 : t - baseTime;
+            baseStep = s;
+            baseLoop = l;
+            baseTime = t;
+            return this;
+        }
+
+        /** "alloc step x B/tick, loop thread y KB/s" for the interval. */
+        String allocation() {
+            long ticks = interval[0].totalCount();
+            return String.format("alloc step %.1f B/tick, loop thread %.0f KB/s",
+                    ticks > 0 ? (double) stepBytes / ticks : 0.0,
+                    nanos > 0 ? loopBytes * (double) SECOND / nanos / 1024 : 0.0);
+        }
+
+        /** "name p50/p99/p999 max" for phase i, in microseconds. */
+        String phase(String name, int i) {
+            Histogram h = interval[i];
+            return String.format("%s %.0f/%.0f/%.0f max %.0f us", name, h.percentile(50) / 1e3,
+                    h.percentile(99) / 1e3, h.percentile(99.9) / 1e3, h.max() / 1e3);
+        }
+
+        String[] lines() {
+            long paints = interval[3].totalCount();
+            return new String[] {
+                    "p50/p99/p999 (last 1 s)",
+                    phase("tick", 0),
+                    phase("draw", 1),
+                    phase("frame", 2),
+                    phase("paint", 3) + (paints > 0 ? String.format(", %d px", pixels / paints) : ""),
+                    "dropped frames " + dropped,
+                    allocation(),
+            };
+        }
+
+        String logLine(String mode) {
+            return String.format("timing [%s] %s | %s | %s | %s | dropped %d | %s", mode, phase("tick", 0),
+                    phase("draw", 1), phase("frame", 2), phase("paint", 3), dropped, allocation());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+import java.io.File;
+
+/**
+ * Command-line settings for a game session, parsed from {@code App.main}'s arguments.
+ * Every field has a default, so {@code new GameOptions()} is a normal interactive game.
+ */
+public class GameOptions {
+
+    boolean activeRendering = false;   // --active: paint through a BufferStrategy from the loop thread
+    long seed = System.nanoTime();     // --seed n: master seed; games are reproducible when given
+    boolean seedGiven = false;         // true if --seed was on the command line
+    boolean dirtyRegions = false;      // --dirty: repaint only changed areas (passive mode only)
+    boolean parallax = false;          // --parallax: scroll the background in layers
+    File recordDir = null;             // --record dir: save every finished game as a replay here
+    File replayFile = null;            // --replay file: play a recorded game instead of the keyboard
+    boolean realtime = false;          // --realtime: show the replay in the window at normal speed
+    File exportDir = null;             // --export dir: render the replay's frames into dir, headless
+    FrameExporter.Format exportFormat = FrameExporter.Format.PNG;   // --format png|rgb
+    int exportThreads = Runtime.getRuntime().availableProcessors(); // --threads n: encoder threads
+
+    /** Parses {@code args}; throws IllegalArgumentException on anything it doesn't recognise. */
+    static GameOptions parse(String[] args) {
+        GameOptions options = new GameOptions();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--active":
+                    options.activeRendering = true;
+                    break;
+                case "--dirty":
+                    options.dirtyRegions = true;
+                    break;
+                case "--parallax":
+                    options.parallax = true;
+                    break;
+                case "--seed":
+                    options.seed = Long.parseLong(value(args, ++i, "--seed"));
+                    options.seedGiven = true;
+                    break;
+                case "--record":
+                    options.recordDir = new File(value(args, ++i, "--record"));
+                    break;
+                case "--replay":
+                    options.replayFile = new File(value(args, ++i, "--replay"));
+                    break;
+                case "--realtime":
+                    options.realtime = true;
+                    break;
+                case "--export":
+                    options.exportDir = new File(value(args, ++i, "--export"));
+                    break;
+                case "--format":
+                    String format = value(args, ++i, "--format");
+                    try {
+                        options.exportFormat = FrameExporter.Format.valueOf(format.toUpperCase());
+                    } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException("--format must be png or rgb: " + format);
+                    }
+                    break;
+                case "--threads":
+                    options.exportThreads = Integer.parseInt(value(args, ++i, "--threads"));
+                    if (options.exportThreads < 1) {
+                        throw new IllegalArgumentException("--threads must be at least 1");
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("unknown option: " + args[i]);
+            }
+        }
+        if (options.exportDir != null && options.replayFile == null) {
+            throw new IllegalArgumentException("--export needs --replay");
+        }
+        return options;
+    }
+
+    /** The argument following an option, or an error naming the option if it is missing. */
+    static String value(String[] args, int i, String option) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException(option + " needs a value");
+        }
+        return args[i];
+    }
+}
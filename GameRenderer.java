@@ -0,0 +1,70 @@
+import java.awt.*;               // Graphics
+
+/**
+ * Draws a {@link GameWorld} (background, bird, pipes, score) into any {@link Graphics}:
+ * the Swing panel, the active-rendering canvas, or an offscreen image.
+ * Holds only render-side state (sprites and HUD glyphs); the world is passed in per frame.
+ */
+public class GameRenderer {
+
+    final SpriteCache sprites;         // background, bird and pipes, pre-scaled to draw size
+    final HudRenderer hud;             // score line from cached glyphs
+    final ParallaxBackground parallax; // scrolling layers, null for the static background
+
+    /** Loads the sprites at the sizes {@code world} draws them at. */
+    GameRenderer(GameWorld world) {
+        this(world, false);
+    }
+
+    /** @param parallax scroll the background in layers instead of drawing it static */
+    GameRenderer(GameWorld world, boolean parallax) {
+        sprites = new SpriteCache(world);
+        hud = new HudRenderer(sprites.gc, 10, 35);
+        this.parallax = parallax ? new ParallaxBackground(sprites) : null;
+    }
+
+    /**
+     * Draws background, bird, pipes and score for one frame.
+     * @param alpha how far (0..1) real time has moved past the last tick; moving
+     *              objects are drawn that far along between their previous and current spot
+     */
+    public void draw(Graphics g, GameWorld world, double alpha) {
+        // draw sky background (already panel-sized), scrolling layers if enabled
+        if (parallax != null) {
+            parallax.draw(g, world, alpha);
+        } else {
+            sprites.drawBackground(g);
+        }
+
+        // draw bird sprite, blended between its previous and current height
+        sprites.bird.draw(g, world.bird.x, birdY(world, alpha));
+
+        // draw every pipe in the world, backed off by the part of a tick not yet elapsed
+        int pipeShift = pipeShift(world, alpha);
+        PipeStore pipes = world.pipes;
+        for (int i = 0; i < pipes.size(); i++) {
+            SpriteCache.Region img = pipes.top(i) ? sprites.topPipe : sprites.bottomPipe;
+            img.draw(g, pipes.x(i) - pipeShift, pipes.y(i));
+        }
+
+        // draw score (white, 32 pt Arial; "Game Over: n" once the bird is down)
+        hud.draw(g, (int) world.score, world.gameOver);
+    }
+
+    /* -------------------- INTERPOLATED POSITIONS -------------------- */
+    // distance (in ticks) between the latest tick and what should be on screen
+    static double lag(GameWorld world, double alpha) {
+        return world.gameOver ? 0 : 1 - alpha;
+    }
+
+    /** Bird's on-screen y, blended between its previous and current height. */
+    static int birdY(GameWorld world, double alpha) {
+        int y = world.bird.y;
+        return (int) Math.round(y - (y - world.prevBirdY) * lag(world, alpha));
+    }
+
+    /** Pixels to subtract from every pipe's x for the part of a tick not yet elapsed. */
+    static int pipeShift(GameWorld world, double alpha) {
+        return (int) Math.round(world.velocityX * lag(world, alpha));
+    }
+}
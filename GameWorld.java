@@ -0,0 +1,178 @@
+import java.util.SplittableRandom;               // default per-game generator
+import java.util.function.LongFunction;          // seed -> generator factory
+import java.util.random.RandomGenerator;         // any pluggable generator
+
+/**
+ * Headless simulation of the Flappy-Bird clone.
+ * Owns bird physics, pipe scrolling, scoring and collisions, and nothing from AWT/Swing,
+ * so it can be stepped as fast as the CPU allows without a display or a Swing Timer.
+ * Pipe spawning is part of the tick and all randomness comes from a per-game generator built
+ * from a seed, so a game is fully determined by its seed and the flaps fed to {@link #step(boolean)}.
+ */
+public class GameWorld {
+
+    /* -------------------- BOARD CONSTANTS -------------------- */
+    int boardWidth = 360;   // playing area width (pixels)
+    int boardHeight = 640;  // playing area height (pixels)
+
+    /* -------------------- BIRD PROPERTIES -------------------- */
+    int birdX = boardWidth / 8;      // starting horizontal position
+    int birdY = boardHeight / 2;     // starting vertical position
+    int birdWidth = 34;              // collision box width
+    int birdHeight = 24;             // collision box height
+
+    /** Simple data container for the bird's geometry. */
+    class Bird {
+        int x = birdX;
+        int y = birdY;
+        int width = birdWidth;
+        int height = birdHeight;
+    }
+
+    /* -------------------- PIPE PROPERTIES -------------------- */
+    int pipeX = boardWidth;            // pipes spawn just off the right edge
+    int pipeY = 0;                     // top edge of pipe (will be offset randomly)
+    int pipeWidth = 64;                // pixel width of pipe image
+    int pipeHeight = 512;              // pixel height of pipe image
+
+    // a new pair every 90 ticks (1.5 s at 60 Hz), counted inside step() so spacing never drifts
+    static final int SPAWN_INTERVAL_TICKS = 90;
+
+    // A pair spawns every 1.5 s and scrolls 360 px in that time, so at most two pairs
+    // are ever live; room for four pairs (two of headroom) keeps the store from ever growing.
+    static final int MAX_PIPES = 8;
+
+    /* -------------------- GAME PHYSICS / STATE -------------------- */
+    Bird bird = new Bird();            // player object
+    int prevBirdY = birdY;             // bird.y before the last tick (for render interpolation)
+    int velocityX = -4;                // horizontal speed of pipes (negative = left)
+    int velocityY = 0;                 // vertical speed of bird (updated by gravity & flaps)
+    int gravity = 1;                   // pixels per tick acceleration downward
+    int flapVelocity = -25;            // instant upward boost applied by a flap
+    int tick = 0;                      // ticks stepped since the last reset (drives spawning)
+
+    PipeStore pipes = new PipeStore(MAX_PIPES);   // on-screen pipes, primitive arrays
+    boolean gameOver = false;          // flag set on collision
+    double score = 0;                  // increments each time bird passes a pipe pair
+
+    /* -------------------- RANDOMNESS -------------------- */
+    final LongFunction<RandomGenerator> rngFactory;   // builds a generator from a seed
+    long seed;                         // seed of the current game
+    RandomGenerator random;            // used to randomise gap height
+
+    /* -------------------- CONSTRUCTORS -------------------- */
+    /** A world whose first game uses {@code seed}, with a {@link SplittableRandom} per game. */
+    GameWorld(long seed) {
+        this(seed, SplittableRandom::new);
+    }
+
+    /** A world drawing its randomness from generators made by {@code rngFactory}. */
+    GameWorld(long seed, LongFunction<RandomGenerator> rngFactory) {
+        this.rngFactory = rngFactory;
+        this.seed = seed;
+        this.random = rngFactory.apply(seed);
+    }
+
+    /* -------------------- SIMULATION STEP -------------------- */
+    /**
+     * Advances the world by one tick, spawning a pipe pair every {@link #SPAWN_INTERVAL_TICKS}.
+     * @param flap true if the player flapped since the previous tick
+     */
+    public void step(boolean flap) {
+        prevBirdY = bird.y;
+        if (gameOver) {
+            return;                    // world is frozen until reset()
+        }
+        if (++tick % SPAWN_INTERVAL_TICKS == 0) {
+            placePipes();
+        }
+        if (flap) {
+            velocityY = flapVelocity;
+        }
+        move();
+    }
+
+    /** Starts a new game whose pipes are generated from {@code seed}. */
+    public void reset(long seed) {
+        this.seed = seed;
+        random = rngFactory.apply(seed);
+        reset();
+    }
+
+    /** Puts the bird back at its start position and clears pipes and score. */
+    public void reset() {
+        bird.y = birdY;
+        prevBirdY = birdY;
+        velocityY = 0;
+        tick = 0;
+        pipes.clear();
+        score = 0;
+        gameOver = false;
+    }
+
+    /* -------------------- PIPE SPAWNING -------------------- */
+    /** Creates a new top + bottom pipe pair with a randomly positioned gap. */
+    public void placePipes() {
+        // randomise top pipe's top-left y so gap moves up/down each time
+        int randomPipeY = (int) (pipeY - pipeHeight / 4 - random.nextDouble() * (pipeHeight / 2));
+        int openingSpace = boardHeight / 4;   // vertical size of gap bird must fly through
+
+        pipes.addPair(pipeX, randomPipeY, randomPipeY + pipeHeight + openingSpace);
+    }
+
+    /* -------------------- PHYSICS & COLLISIONS -------------------- */
+    /** Updates bird position, pipe positions, and checks for collisions each tick. */
+    public void move() {
+        // apply gravity to vertical velocity, then move bird
+        velocityY += gravity;
+        bird.y += velocityY;
+        bird.y = Math.max(bird.y, 0);   // can't go above screen top
+
+        // scroll pipes left, straight through the slot arrays
+        int[] xs = pipes.x;
+        int[] ys = pipes.y;
+        for (int i = 0; i < pipes.size; i++) {
+            xs[(pipes.head + i) & pipes.mask] += velocityX;   // negative value moves pipe left
+        }
+
+        // pairs the bird has cleared: 0.5 score per pipe (top + bottom = 1 point). Pipes are in
+        // x-order, so the cursor only ever moves forward past the leading pairs.
+        while (pipes.cursor < pipes.size && bird.x > pipes.x(pipes.cursor) + pipeWidth) {
+            pipes.cursor += 2;
+            score += 1;
+        }
+
+        // simple AABB collision test (scalar path). Pairs are ~360 px apart, more than
+        // pipeWidth + birdWidth, so only the first pair not yet passed can touch the bird.
+        if (BatchCollision.VECTOR == null && pipes.cursor < pipes.size) {
+            int top = pipes.slot(pipes.cursor);
+            if (collision(bird, xs[top], ys[top]) || collision(bird, xs[top + 1], ys[top + 1])) {
+                gameOver = true;
+            }
+        }
+
+        // SIMD path: one AABB test against every slot at once (empty slots can't hit)
+        if (BatchCollision.VECTOR != null && BatchCollision.vectorAnyHit(xs, ys, pipes.capacity,
+                bird.x, bird.y, bird.width, bird.height, pipeWidth, pipeHeight)) {
+            gameOver = true;
+        }
+
+        // evict pairs that have fully scrolled off the left edge
+        while (pipes.size > 0 && xs[pipes.head] + pipeWidth < 0) {
+            pipes.removeFirstPair();
+        }
+
+        // bird fell off bottom of screen
+        if (bird.y > boardHeight) {
+            gameOver = true;
+        }
+    }
+
+    /** Axis-aligned bounding box collision between bird and the pipe whose top-left is (px, py). */
+    public boolean collision(Bird a, int px, int py) {
+        return a.x < px + pipeWidth &&
+               a.x + a.width > px &&
+               a.y < py + pipeHeight &&
+               a.y + a.height > py;
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * Fixed-memory log-linear histogram of nanosecond timings, in the spirit of HdrHistogram.
+ * Values below 128 get exact buckets; above that, every power-of-two range is split into 64
+ * sub-buckets, so any recorded value is off by less than 1.6%. Values up to ~2^40 ns (18 min)
+ * are tracked; anything larger lands in the last bucket.
+ *
+ * Recording is a couple of shifts and one array increment with no allocation. Each histogram
+ * must have a single writing thread; readers on other threads may see a count or two in flight,
+ * which is fine for monitoring.
+ */
+public class Histogram {
+
+    static final int SUB_BITS = 7;                     // 128 exact values, then 64 per octave
+    static final int SUB_COUNT = 1 << SUB_BITS;
+    static final int HALF = SUB_COUNT / 2;
+    static final int MAX_EXPONENT = 40 - SUB_BITS + 1; // covers values < 2^40
+    static final int BUCKETS = (MAX_EXPONENT + 2) * HALF;
+
+    final long[] counts = new long[BUCKETS];
+
+    /* -------------------- RECORDING -------------------- */
+    /** Adds one occurrence of {@code value} (negative values count as 0). */
+    public void record(long value) {
+        counts[index(Math.max(value, 0))]++;
+    }
+
+    /** Bucket holding {@code value}. */
+    static int index(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int exponent = 64 - Long.numberOfLeadingZeros(value) - SUB_BITS;   // >= 1
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        return exponent * HALF + (int) (value >>> exponent);              // value >>> e in [64, 128)
+    }
+
+    /** Largest value that falls into bucket {@code index}. */
+    static long highestValue(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int exponent = index / HALF - 1;
+        long sub = index - exponent * HALF;
+        return ((sub + 1) << exponent) - 1;
+    }
+
+    /* -------------------- QUERIES -------------------- */
+    public long totalCount() {
+        long total = 0;
+        for (long c : counts) {
+            total += c;
+        }
+        return total;
+    }
+
+    /** Value at percentile {@code p} (0..100), rounded up to its bucket; 0 if empty. */
+    public long percentile(double p) {
+        long total = totalCount();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(p / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return highestValue(i);
+            }
+        }
+        return highestValue(BUCKETS - 1);
+    }
+
+    /** Largest recorded value, rounded up to its bucket; 0 if empty. */
+    public long max() {
+        for (int i = BUCKETS - 1; i >= 0; i--) {
+            if (counts[i] != 0) {
+                return highestValue(i);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Makes this histogram hold what {@code live} recorded since {@code base} was last
+     * synced, then syncs {@code base} to {@code live}. Neither {@code live} nor its writer
+     * is disturbed, so interval stats need no reset.
+     */
+    public void intervalOf(Histogram live, Histogram base) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long c = live.counts[i];
+            counts[i] = c - base.counts[i];
+            base.counts[i] = c;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+import java.awt.*;               // Font, FontMetrics, Graphics, Color, AlphaComposite
+import java.awt.image.BufferedImage;
+
+/**
+ * Draws the score line ("12" or "Game Over: 12") without allocating per frame.
+ * Digit glyphs and the "Game Over: " label are rendered once into small images; the HUD line
+ * is composed from them into a cached image only when the score or game-over state changes,
+ * and every frame is a single blit of that image.
+ */
+public class HudRenderer {
+
+    /* -------------------- STYLE -------------------- */
+    static final Font FONT = new Font("Arial", Font.PLAIN, 32);   // white, 32 pt Arial
+    static final String GAME_OVER = "Game Over: ";
+    static final int MAX_DIGITS = 10;  // enough for any int score
+
+    final int x;                       // left edge of the text
+    final int top;                     // top of the HUD image (baseline minus font ascent)
+
+    /* -------------------- PRE-RENDERED GLYPHS -------------------- */
+    final BufferedImage[] digits = new BufferedImage[10];   // '0'..'9'
+    final BufferedImage gameOverLabel;
+    final BufferedImage line;          // composed HUD, redrawn only on change
+
+    // what {@link #line} currently shows
+    int shownScore = -1;
+    boolean shownGameOver = false;
+
+    /** @param gc screen configuration for the glyph images, null when headless */
+    HudRenderer(GraphicsConfiguration gc, int x, int baseline) {
+        // a scratch image just to get font metrics before anything is on screen
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D sg = scratch.createGraphics();
+        FontMetrics fm = sg.getFontMetrics(FONT);
+        sg.dispose();
+
+        int height = fm.getAscent() + fm.getDescent();
+        int maxDigitWidth = 0;
+        for (int d = 0; d < 10; d++) {
+            digits[d] = glyph(gc, fm, String.valueOf(d), height);
+            maxDigitWidth = Math.max(maxDigitWidth, digits[d].getWidth());
+        }
+        gameOverLabel = glyph(gc, fm, GAME_OVER, height);
+        line = SpriteCache.compatibleImage(gc,
+                gameOverLabel.getWidth() + MAX_DIGITS * maxDigitWidth, height, Transparency.TRANSLUCENT);
+
+        this.x = x;
+        this.top = baseline - fm.getAscent();
+    }
+
+    /** Renders {@code text} once into a transparent image tall enough for the whole font. */
+    static BufferedImage glyph(GraphicsConfiguration gc, FontMetrics fm, String text, int height) {
+        BufferedImage img = SpriteCache.compatibleImage(gc, Math.max(1, fm.stringWidth(text)), height,
+                Transparency.TRANSLUCENT);
+        Graphics2D g = img.createGraphics();
+        try {
+            g.setColor(Color.white);
+            g.setFont(FONT);
+            g.drawString(text, 0, fm.getAscent());
+        } finally {
+            g.dispose();
+        }
+        return img;
+    }
+
+    /** True if drawing this state would change what is on screen. */
+    public boolean changed(int score, boolean gameOver) {
+        return score != shownScore || gameOver != shownGameOver;
+    }
+
+    /* -------------------- DRAWING -------------------- */
+    /** Draws the HUD line for the given state, recomposing it first only if it changed. */
+    public void draw(Graphics g, int score, boolean gameOver) {
+        if (changed(score, gameOver)) {
+            compose(score, gameOver);
+        }
+        g.drawImage(line, x, top, null);
+    }
+
+    /** Rebuilds {@link #line} from the cached glyphs. */
+    void compose(int score, boolean gameOver) {
+        Graphics2D g = line.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Clear);        // wipe the previous text
+            g.fillRect(0, 0, line.getWidth(), line.getHeight());
+            g.setComposite(AlphaComposite.SrcOver);
+
+            int cx = 0;
+            if (gameOver) {
+                g.drawImage(gameOverLabel, 0, 0, null);
+                cx = gameOverLabel.getWidth();
+            }
+
+            // find the highest power of ten, then emit digits left to right
+            int value = Math.max(score, 0);
+            int divisor = 1;
+            while (value / divisor >= 10) {
+                divisor *= 10;
+            }
+            for (; divisor > 0; divisor /= 10) {
+                BufferedImage digit = digits[(value / divisor) % 10];
+                g.drawImage(digit, cx, 0, null);
+                cx += digit.getWidth();
+            }
+        } finally {
+            g.dispose();
+        }
+        shownScore = score;
+        shownGameOver = gameOver;
+    }
+}
@@ -0,0 +1,66 @@
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free single-producer/single-consumer queue of timestamped input events.
+ * The EDT (sole producer) offers key presses as they happen; the loop thread (sole consumer)
+ * drains, at each tick boundary, exactly the events that happened before that tick's end.
+ *
+ * Events live in two preallocated parallel arrays indexed by ever-increasing positions;
+ * the producer publishes with a release store of {@link #tail}, the consumer frees slots with
+ * a release store of {@link #head}. No locks, no allocation, no CAS.
+ */
+public class InputQueue {
+
+    /* -------------------- EVENT TYPES -------------------- */
+    static final int SPACE = 1;        // flap, or restart when the game is over
+
+    final int capacity;                // power of two
+    final int mask;
+    final int[] types;
+    final long[] times;                // System.nanoTime() of each event
+
+    final AtomicLong head = new AtomicLong();   // next position to read (written by consumer)
+    final AtomicLong tail = new AtomicLong();   // next position to write (written by producer)
+
+    InputQueue(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        types = new int[capacity];
+        times = new long[capacity];
+    }
+
+    /* -------------------- PRODUCER -------------------- */
+    /** Enqueues an event; returns false (dropping it) if the consumer is a whole queue behind. */
+    public boolean offer(int type, long time) {
+        long t = tail.get();                       // only this thread writes tail
+        if (t - head.getAcquire() == capacity) {
+            return false;
+        }
+        int slot = (int) t & mask;
+        types[slot] = type;
+        times[slot] = time;
+        tail.setRelease(t + 1);                    // publish the slot contents
+        return true;
+    }
+
+    /* -------------------- CONSUMER -------------------- */
+    /** Timestamp of the oldest pending event, or Long.MAX_VALUE if there is none. */
+    public long peekTime() {
+        long h = head.get();                       // only this thread writes head
+        if (h == tail.getAcquire()) {
+            return Long.MAX_VALUE;
+        }
+        return times[(int) h & mask];
+    }
+
+    /** Removes the oldest pending event and returns its type; only call after peekTime() found one. */
+    public int poll() {
+        long h = head.get();
+        int type = types[(int) h & mask];
+        head.setRelease(h + 1);                    // hand the slot back to the producer
+        return type;
+    }
+}
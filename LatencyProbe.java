@@ -0,0 +1,76 @@
+/**
+ * Measures input-to-photon latency of flaps: the time from a key press to the moment
+ * the first frame showing its effect is handed to the display.
+ * Each flap carries three timestamps: the press, taken in keyPressed() and carried through
+ * the {@link InputQueue}; the tick that applied it, reported by applied(); and the frame that
+ * showed it, reported by presented(). The tick calls applied() and the paint calls take() under
+ * the world lock, so a flap is credited to exactly the first frame that shows its tick in full.
+ * The two stages and their sum go into {@link Histogram}s, so rendering and timer modes can be
+ * compared by percentile rather than by feel.
+ * Time spent before keyPressed() runs (OS and AWT event queue) is not included.
+ */
+public class LatencyProbe {
+
+    static final int REPORT_EVERY = 20;   // print a percentile line after this many flaps
+
+    final String label;                // rendering mode, printed with each report
+    // guarded by the world lock
+    long appliedAt = 0;                // press time of a flap applied but not yet drawn, 0 = none
+    long appliedTickAt = 0;            // nanoTime of the tick that applied it
+
+    long takenTickAt = 0;              // appliedTickAt of the flap last taken; presenting thread only
+
+    // since startup; only touched by the presenting thread
+    final Histogram toTick = new Histogram();      // press -> tick that applied it
+    final Histogram toFrame = new Histogram();     // that tick -> frame presented
+    final Histogram total = new Histogram();       // press -> frame presented
+    int sinceReport = 0;
+
+    LatencyProbe(String label) { this.label = label; }
+
+    /** A flap pressed at {@code pressedAt} was applied to the simulation (loop thread, world locked). */
+    public void applied(long pressedAt) {
+        if (appliedAt == 0) {          // an earlier flap still unseen: this one shares its frame
+            appliedTickAt = System.nanoTime();
+            appliedAt = pressedAt;
+        }
+    }
+
+    /**
+     * Called by a paint while it holds the world lock: the frame being drawn shows the applied
+     * flap, if any. Returns its press time (0 = none) to hand to {@link #presented(long, long)}.
+     */
+    public long take() {
+        long pressed = appliedAt;
+        if (pressed != 0) {
+            takenTickAt = appliedTickAt;
+            appliedAt = 0;
+        }
+        return pressed;
+    }
+
+    /** The frame that took the flap pressed at {@code pressed} (0 = none) was just presented. */
+    public void presented(long now, long pressed) {
+        if (pressed == 0) {
+            return;
+        }
+        long tickAt = takenTickAt;
+
+        toTick.record(tickAt - pressed);
+        toFrame.record(now - tickAt);
+        total.record(now - pressed);
+        if (++sinceReport == REPORT_EVERY) {
+            sinceReport = 0;
+            System.out.println(report());
+        }
+    }
+
+    /** One line of percentiles over every flap measured so far. */
+    String report() {
+        return String.format("input latency [%s]: p50 %.2f p90 %.2f p99 %.2f max %.2f ms"
+                        + " (press->tick p50 %.2f, tick->frame p50 %.2f) over %d flaps",
+                label, total.percentile(50) / 1e6, total.percentile(90) / 1e6,
+                total.percentile(99) / 1e6, total.max() / 1e6,
+                toTick.percentile(50) / 1e6, toFrame.percentile(50) / 1e6, total.totalCount());
+    }
+}
@@ -0,0 +1,208 @@
+import java.util.Arrays;
+
+/**
+ * A {@link Policy} that plans its flaps through every pipe pair currently on screen.
+ *
+ * A flap always throws the bird 300 px up, almost twice the 160 px gap, so the only way through
+ * a pair is to reach the top of that arc while passing it; reacting to the gap as it arrives
+ * (like {@link Policy#threshold(int)}) never works. Between flaps the path is fixed, so a plan is
+ * just the ticks to flap on, and the search runs over flap points (tick, height) rather than
+ * single ticks. Every arc is followed until it dies or clears the last pair ahead, and only
+ * falling points are offered as new flap points (flapping on the way up is rarely what's needed
+ * and multiplies the search). Points already reached are skipped, so a plan costs a few hundred
+ * arcs. The plan is made once per target and redone when a new pair spawns; if no plan exists
+ * the bird just holds above the next gap's bottom edge.
+ *
+ * A policy is built per game, so it only keeps the plan; the search tables (about half a MB)
+ * belong to a {@link Search} per thread and are reused by every game played on it.
+ *
+ * Some gaps spawn too low to pass: the flap would have to start below the ground. Even perfect
+ * play dies now and then, so scores come out as a spread rather than a cap.
+ */
+public class LookaheadPolicy implements Policy {
+
+    static final int UNREACHED = Integer.MIN_VALUE;
+
+    // one search per thread: a plan is made and copied out within a single flap() call
+    static final ThreadLocal<Search> SEARCHES = ThreadLocal.withInitial(Search::new);
+
+    final int margin;                  // pixels kept clear of each pipe edge
+
+    /* -------------------- CURRENT PLAN -------------------- */
+    boolean[] flaps = new boolean[0];  // flaps[j]: flap on the j-th tick after planTick
+    int planLength = 0;                // ticks covered by the plan
+    int planTick = -1;                 // world.tick the plan starts at
+    long planTarget = Long.MIN_VALUE;  // spawn x of the first pair ahead when planned
+    int planPairs = 0;                 // pairs ahead when planned
+    boolean planFailed = false;        // no plan for this target; hold until it changes
+
+    LookaheadPolicy(int margin) { this.margin = margin; }
+
+    @Override
+    public boolean flap(GameWorld world) {
+        PipeStore pipes = world.pipes;
+        GameWorld.Bird bird = world.bird;
+        if (pipes.cursor >= pipes.size()) {   // nothing ahead yet: stay in the middle of the board
+            return bird.y + bird.height + world.velocityY + world.gravity > world.boardHeight * 3 / 4;
+        }
+
+        // (re)plan when the target changes, a new pair appears, or a new game has started
+        long target = pipes.x(pipes.cursor) - (long) world.velocityX * world.tick;   // same for a pair all game
+        int ahead = (pipes.size() - pipes.cursor) / 2;
+        if (target != planTarget || ahead != planPairs || world.tick < planTick) {
+            boolean retarget = target != planTarget || world.tick < planTick;
+            planTarget = target;
+            planPairs = ahead;
+            if (plan(world)) {
+                planFailed = false;
+            } else if (retarget) {
+                planFailed = true;     // an extra pair that can't be fitted in keeps the old plan
+                planLength = 0;
+            }
+        }
+
+        int j = world.tick - planTick;
+        if (!planFailed && j < planLength) {
+            return flaps[j];
+        }
+        return bird.y + bird.height + world.velocityY + world.gravity > pipes.y(pipes.cursor + 1) - margin;
+    }
+
+    /** Searches for flaps that clear every pair ahead; on success they become the current plan. */
+    boolean plan(GameWorld world) {
+        Search search = SEARCHES.get();
+        if (!search.run(world, margin)) {
+            return false;
+        }
+        if (flaps.length < search.horizon) {
+            flaps = new boolean[search.horizon];
+        }
+        System.arraycopy(search.found, 0, flaps, 0, search.horizon);
+        planLength = search.horizon;
+        planTick = world.tick;
+        return true;
+    }
+
+    /* -------------------- SEARCH (per thread) -------------------- */
+    /** Search tables for one plan at a time, grown as needed and reused across games. */
+    static class Search {
+        GameWorld world;
+        int rows;                          // heights 0..boardHeight
+        int pairs;                         // pairs being planned through
+        int[] enter = new int[0];          // per pair: first tick overlapping the bird
+        int[] exit = new int[0];           // per pair: first tick past the bird
+        int[] gapTop = new int[0];         // per pair: smallest bird.y clear of the top pipe
+        int[] gapBottom = new int[0];      // per pair: largest bird.y clear of the bottom pipe
+        int horizon;                       // tick at which the last pair is cleared
+        int[] parentTick = new int[0];     // per flap point (tick, y): previous flap's tick, -1 = no flap before
+        int[] parentY = new int[0];        // per flap point: previous flap's height
+        boolean[] found = new boolean[0];  // flaps of the plan, ticks 0..horizon-1
+
+        /** Looks for flaps that clear every pair ahead of the bird; on success they are in {@link #found}. */
+        boolean run(GameWorld world, int margin) {
+            this.world = world;
+            PipeStore pipes = world.pipes;
+            GameWorld.Bird bird = world.bird;
+            int speed = -world.velocityX;
+            pairs = (pipes.size() - pipes.cursor) / 2;
+            if (enter.length < pairs) {
+                enter = new int[pairs];
+                exit = new int[pairs];
+                gapTop = new int[pairs];
+                gapBottom = new int[pairs];
+            }
+            for (int p = 0; p < pairs; p++) {
+                int i = pipes.cursor + 2 * p;
+                int x = pipes.x(i);
+                enter[p] = Math.max(1, (x - bird.x - bird.width) / speed + 1);
+                exit[p] = (x + world.pipeWidth - bird.x) / speed + 1;
+                gapTop[p] = pipes.y(i) + world.pipeHeight + margin;
+                gapBottom[p] = pipes.y(i + 1) - bird.height - margin;
+            }
+            horizon = exit[pairs - 1];
+            rows = world.boardHeight + 1;
+            if (parentTick.length < horizon * rows) {
+                parentTick = new int[horizon * rows];
+                parentY = new int[horizon * rows];
+            }
+            Arrays.fill(parentTick, 0, horizon * rows, UNREACHED);
+            if (found.length < horizon) {
+                found = new boolean[horizon];
+            }
+            Arrays.fill(found, 0, horizon, false);
+
+            boolean ok = search();
+            this.world = null;             // don't keep the last game's world reachable
+            return ok;
+        }
+
+        /** Forward search over flap points in tick order; fills {@link #found} on success. */
+        boolean search() {
+            // glide without flapping: clears everything on its own, or offers flap points on the way
+            int y = world.bird.y;
+            int vy = world.velocityY;
+            for (int j = 0; j < horizon; j++) {
+                parentTick[j * rows + y] = -1;
+                vy += world.gravity;
+                y = Math.max(y + vy, 0);
+                if (!alive(j + 1, y)) {
+                    break;
+                }
+                if (j + 1 == horizon) {
+                    return true;           // no flap needed
+                }
+            }
+
+            // every reached point, earliest first, is tried as the next flap
+            for (int k = 0; k < horizon; k++) {
+                for (int yk = 0; yk < rows; yk++) {
+                    if (parentTick[k * rows + yk] == UNREACHED) {
+                        continue;
+                    }
+                    int ay = yk;
+                    int avy = world.flapVelocity;
+                    for (int j = k + 1; ; j++) {
+                        avy += world.gravity;
+                        ay = Math.max(ay + avy, 0);
+                        if (!alive(j, ay)) {
+                            break;
+                        }
+                        if (j == horizon) {
+                            trace(k, yk);
+                            return true;
+                        }
+                        int point = j * rows + ay;
+                        if (avy >= 0 && parentTick[point] == UNREACHED) {
+                            parentTick[point] = k;
+                            parentY[point] = yk;
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+
+        /** True if the bird at height {@code y}, {@code j} ticks from now, is on the board and clear of every pipe. */
+        boolean alive(int j, int y) {
+            if (y > world.boardHeight) {
+                return false;
+            }
+            for (int p = 0; p < pairs; p++) {
+                if (j >= enter[p] && j < exit[p] && (y < gapTop[p] || y > gapBottom[p])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /** Marks in {@link #found} the flap at (k, y) and every flap that led to it. */
+        void trace(int k, int y) {
+            while (k >= 0) {
+                found[k] = true;
+                int point = k * rows + y;
+                k = parentTick[point];
+                y = parentY[point];
+            }
+        }
+    }
+}
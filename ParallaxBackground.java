@@ -0,0 +1,79 @@
+import java.awt.*;               // Graphics, Graphics2D, Transparency
+import java.awt.image.BufferedImage;
+
+/**
+ * Scrolling background built from horizontal bands of the sky image, each band moving at its
+ * own fraction of the pipe speed: distant clouds and city slowly, bushes faster, the ground
+ * exactly with the pipes. The sky above them stays put.
+ *
+ * Each band is pre-tiled once into a strip [band | mirrored band | band]. Mirroring makes the
+ * tile seamless (the art's left and right edges don't match), and with a period of two band
+ * widths any scroll offset is a single unscaled blit; nothing is allocated per frame.
+ */
+public class ParallaxBackground {
+
+    /* -------------------- LAYERS (rows of the 640 px background) -------------------- */
+    static final int[] LAYER_TOP    = { 0,   453, 545, 576 };   // sky, clouds + city, bushes, ground
+    static final double[] LAYER_SPEED = { 0, 0.25, 0.5, 1.0 };  // fraction of pipe speed
+
+    final int width;                   // board width = one band tile
+    final int[] top;                   // board y of each layer
+    final BufferedImage[] strips;      // pre-tiled layers, 3 tiles wide (1 tile for static layers)
+
+    ParallaxBackground(SpriteCache sprites) {
+        BufferedImage bg = sprites.background;
+        width = bg.getWidth();
+        int layers = LAYER_TOP.length;
+        top = new int[layers];
+        strips = new BufferedImage[layers];
+
+        for (int i = 0; i < layers; i++) {
+            // layer rows scale with the board in case it isn't the art's native 640 px
+            top[i] = LAYER_TOP[i] * bg.getHeight() / 640;
+            int bottom = i + 1 < layers ? LAYER_TOP[i + 1] * bg.getHeight() / 640 : bg.getHeight();
+            strips[i] = strip(sprites, bg, top[i], bottom - top[i], LAYER_SPEED[i] != 0);
+        }
+    }
+
+    /** Cuts rows [y, y+h) out of {@code bg}, tiled as [band | mirror | band] if it scrolls. */
+    static BufferedImage strip(SpriteCache sprites, BufferedImage bg, int y, int h, boolean scrolls) {
+        int w = bg.getWidth();
+        BufferedImage strip = SpriteCache.compatibleImage(sprites.gc, scrolls ? 3 * w : w, h, Transparency.OPAQUE);
+        Graphics2D g = strip.createGraphics();
+        try {
+            g.drawImage(bg, 0, 0, w, h, 0, y, w, y + h, null);
+            if (scrolls) {
+                g.drawImage(bg, 2 * w, 0, w, h, 0, y, w, y + h, null);          // mirrored (dx1 > dx2)
+                g.drawImage(bg, 2 * w, 0, 3 * w, h, 0, y, w, y + h, null);
+            }
+        } finally {
+            g.dispose();
+        }
+        return strip;
+    }
+
+    /** Row where the first scrolling layer starts; everything above it never changes. */
+    int scrollingTop() {
+        for (int i = 0; i < LAYER_SPEED.length; i++) {
+            if (LAYER_SPEED[i] != 0) {
+                return top[i];
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    /** Pixels the pipes have scrolled this game, interpolated like the pipes themselves. */
+    static double scrolled(GameWorld world, double alpha) {
+        return -world.velocityX * (world.tick - GameRenderer.lag(world, alpha));
+    }
+
+    /** Draws all layers scrolled to where the world is {@code alpha} of the way into the next tick. */
+    public void draw(Graphics g, GameWorld world, double alpha) {
+        double scrolled = scrolled(world, alpha);
+        int period = 2 * width;
+        for (int i = 0; i < strips.length; i++) {
+            int offset = (int) ((long) (scrolled * LAYER_SPEED[i]) % period);
+            g.drawImage(strips[i], -offset, top[i], null);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+import java.util.Arrays;
+
+/**
+ * Live pipes stored as parallel primitive arrays in a fixed-capacity ring.
+ * Pipes always come in pairs: the top pipe sits in an even slot and its bottom pipe in the
+ * following odd slot, so "is top" is just slot parity and pairs are evicted together.
+ * Width and height are the same for every pipe and live in {@link GameWorld}.
+ * Pipes are appended in x-order and the bird never moves horizontally, so the pipes it has
+ * passed always form a prefix of the ring; {@link #cursor} marks where that prefix ends.
+ * Empty slots hold {@link #DEAD_X}, far enough left that no bird ever overlaps them, so
+ * collision can scan all {@link #capacity} slots as flat arrays without checking liveness.
+ * Nothing is allocated after construction.
+ */
+public class PipeStore {
+
+    static final int DEAD_X = Integer.MIN_VALUE / 2;   // x of an empty slot
+
+    final int capacity;                // slots, a power of two
+    final int mask;                    // capacity - 1, for cheap wrap-around
+    final int[] x;                     // left edge per slot
+    final int[] y;                     // top edge per slot
+
+    int head = 0;                      // slot of the oldest (left-most) pipe, always even
+    int size = 0;                      // number of live pipes, always even
+    int cursor = 0;                    // live index of the first pair the bird hasn't passed
+
+    PipeStore(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two >= 2: " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        x = new int[capacity];
+        y = new int[capacity];
+        Arrays.fill(x, DEAD_X);
+    }
+
+    /* -------------------- LIVE-PIPE ACCESS (i = 0 is the oldest) -------------------- */
+    int size() { return size; }
+
+    /** Slot holding the i-th live pipe. */
+    int slot(int i) { return (head + i) & mask; }
+
+    int x(int i) { return x[slot(i)]; }
+    int y(int i) { return y[slot(i)]; }
+    boolean top(int i) { return (slot(i) & 1) == 0; }
+    boolean passed(int i) { return i < cursor; }
+
+    /* -------------------- MUTATION -------------------- */
+    /** Appends a top/bottom pair at {@code x}, dropping the oldest pair if the ring is full. */
+    void addPair(int pairX, int topY, int bottomY) {
+        if (size == capacity) {
+            removeFirstPair();
+        }
+        int top = (head + size) & mask;
+        x[top] = pairX;
+        y[top] = topY;
+        x[top + 1] = pairX;
+        y[top + 1] = bottomY;
+        size += 2;
+    }
+
+    /** Drops the oldest pair. */
+    void removeFirstPair() {
+        x[head] = DEAD_X;
+        x[head + 1] = DEAD_X;
+        head = (head + 2) & mask;
+        size -= 2;
+        cursor = Math.max(0, cursor - 2);
+    }
+
+    /** Drops every pipe (used on restart). */
+    void clear() {
+        Arrays.fill(x, DEAD_X);
+        head = 0;
+        size = 0;
+        cursor = 0;
+    }
+}
@@ -0,0 +1,72 @@
+import java.util.SplittableRandom;
+
+/**
+ * A flap controller for headless games: looks at the world before each tick and decides
+ * whether to flap. Implementations may keep state, so every game gets a fresh instance built
+ * from that game's seed (see {@link #named(String, long)}); a game's outcome then depends only
+ * on its seeds, never on which thread played it or what that thread played before.
+ */
+public interface Policy {
+
+    /** True to flap on the coming tick. {@code world} must only be read, never modified. */
+    boolean flap(GameWorld world);
+
+    /* -------------------- BUILT-IN POLICIES -------------------- */
+    /** Never flaps: the bird just falls. A floor for comparisons. */
+    static Policy never() {
+        return world -> false;
+    }
+
+    /** Flaps on a tick with probability {@code p}. */
+    static Policy random(double p, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        return world -> random.nextDouble() < p;
+    }
+
+    /**
+     * Flaps when the bird's next position would sink to within {@code margin} pixels of the
+     * top of the next bottom pipe (or of the lower quarter of the board when no pipe is ahead).
+     */
+    static Policy threshold(int margin) {
+        return world -> {
+            GameWorld.Bird bird = world.bird;
+            int floor = world.boardHeight * 3 / 4;
+            PipeStore pipes = world.pipes;
+            for (int i = 1; i < pipes.size(); i += 2) {   // odd = bottom pipes
+                if (pipes.x(i) + world.pipeWidth > bird.x) { // first one not yet passed
+                    floor = pipes.y(i) - margin;
+                    break;
+                }
+            }
+            return bird.y + bird.height + world.velocityY + world.gravity > floor;
+        };
+    }
+
+    /**
+     * Plans flaps through every pipe pair on screen, so the bird peaks while passing each gap.
+     * The only built-in policy that regularly scores; see {@link LookaheadPolicy}.
+     */
+    static Policy lookahead(int margin) {
+        return new LookaheadPolicy(margin);
+    }
+
+    /**
+     * Builds a fresh policy from a command-line style spec:
+     * {@code never}, {@code random[:p]}, {@code threshold[:margin]} or {@code lookahead[:margin]}.
+     */
+    static Policy named(String spec, long seed) {
+        String[] parts = spec.split(":", 2);
+        switch (parts[0]) {
+            case "never":
+                return never();
+            case "random":
+                return random(parts.length > 1 ? Double.parseDouble(parts[1]) : 0.05, seed);
+            case "threshold":
+                return threshold(parts.length > 1 ? Integer.parseInt(parts[1]) : 10);
+            case "lookahead":
+                return lookahead(parts.length > 1 ? Integer.parseInt(parts[1]) : 0);
+            default:
+                throw new IllegalArgumentException("unknown policy: " + spec);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+import java.io.*;                // Data streams and file I/O for the replay format
+
+/**
+ * One recorded game: its seed plus what happened on every tick, run-length encoded.
+ *
+ * Each tick is a 1-bit symbol ({@link #FLAP} or not). Consecutive equal symbols
+ * form a run stored as one unsigned varint {@code (length << 1) | symbol}, so the long
+ * quiet stretches between flaps cost a byte or two. A typical game fits in a few hundred bytes.
+ *
+ * File layout (big-endian): magic "FBRP", version byte, seed (long), tick count (int),
+ * final score (int), run data length (int), run data. {@link #load(File)} rejects a file whose
+ * runs don't decode to exactly the recorded tick count, so a player never reads past them.
+ */
+public class Replay {
+
+    static final int MAGIC = 0x46425250;   // "FBRP"
+    static final int VERSION = 2;          // 1 also recorded spawns; the world now does its own
+
+    /* -------------------- TICK SYMBOLS -------------------- */
+    static final int FLAP = 1;             // player flapped before this tick's step
+    static final int SYMBOL_BITS = 1;      // bits of a run varint holding the symbol
+
+    static final int HEADER_BYTES = 25;    // magic, version, seed, ticks, score, run data length
+
+    final long seed;                       // GameWorld seed the game was started with
+    final int ticks;                       // number of recorded ticks
+    final int score;                       // score at the end of the recording
+    final byte[] runs;                     // varint-encoded runs, see class comment
+
+    Replay(long seed, int ticks, int score, byte[] runs) {
+        this.seed = seed;
+        this.ticks = ticks;
+        this.score = score;
+        this.runs = runs;
+    }
+
+    /* -------------------- FILE I/O -------------------- */
+    /** Writes this replay to {@code file}. */
+    public void save(File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(seed);
+            out.writeInt(ticks);
+            out.writeInt(score);
+            out.writeInt(runs.length);
+            out.write(runs);
+        }
+    }
+
+    /** Reads a replay written by {@link #save(File)}; throws if it is truncated or inconsistent. */
+    static Replay load(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(file + " is not a replay file");
+            }
+            int version = in.readUnsignedByte();
+            if (version != VERSION) {
+                throw new IOException(file + ": unsupported replay version " + version);
+            }
+            long seed = in.readLong();
+            int ticks = in.readInt();
+            int score = in.readInt();
+            int length = in.readInt();
+            if (length < 0 || length > file.length() - HEADER_BYTES) {
+                throw new IOException(file + ": bad run data length " + length);
+            }
+            byte[] runs = new byte[length];
+            in.readFully(runs);
+            checkRuns(file, runs, ticks);
+            return new Replay(seed, ticks, score, runs);
+        }
+    }
+
+    /** Checks that {@code runs} holds well-formed, non-empty runs totalling exactly {@code ticks}. */
+    static void checkRuns(File file, byte[] runs, int ticks) throws IOException {
+        long total = 0;
+        int pos = 0;
+        while (pos < runs.length) {
+            int value = 0;
+            for (int shift = 0; ; shift += 7) {
+                if (pos == runs.length || shift > 28) {
+                    throw new IOException(file + ": malformed run at byte " + pos);
+                }
+                byte b = runs[pos++];
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    break;
+                }
+            }
+            int length = value >>> SYMBOL_BITS;
+            if (length == 0) {
+                throw new IOException(file + ": empty run before byte " + pos);
+            }
+            total += length;
+        }
+        if (total != ticks) {
+            throw new IOException(file + ": header says " + ticks + " ticks but the runs hold " + total);
+        }
+    }
+
+    /* -------------------- VARINTS -------------------- */
+    /** Appends {@code value} as an unsigned LEB128 varint (7 bits per byte, low bits first). */
+    static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+}
@@ -0,0 +1,58 @@
+/**
+ * Re-drives a {@link GameWorld} from a {@link Replay}, one tick at a time.
+ * Use {@link #playToEnd(GameWorld)} to re-verify a score at full CPU speed, or pull
+ * ticks with {@link #next()} from a real-time loop to watch the game.
+ */
+public class ReplayPlayer {
+
+    final Replay replay;
+    int tick = 0;                      // ticks handed out so far
+    int pos = 0;                       // read offset into replay.runs
+    int runSymbol = 0;                 // symbol of the current run
+    int runLeft = 0;                   // ticks left in the current run
+
+    ReplayPlayer(Replay replay) { this.replay = replay; }
+
+    /** True while recorded ticks remain. */
+    public boolean hasNext() {
+        return tick < replay.ticks;
+    }
+
+    /** Symbol ({@link Replay#FLAP} or 0) of the next recorded tick. */
+    public int next() {
+        if (runLeft == 0) {
+            int run = readVarint();
+            runSymbol = run & ((1 << Replay.SYMBOL_BITS) - 1);
+            runLeft = run >>> Replay.SYMBOL_BITS;
+        }
+        runLeft--;
+        tick++;
+        return runSymbol;
+    }
+
+    /** Decodes one varint at {@link #pos}. */
+    int readVarint() {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = replay.runs[pos++];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    /** Feeds one tick's symbol to {@code world} exactly as the live game did. */
+    static void apply(GameWorld world, int symbol) {
+        world.step((symbol & Replay.FLAP) != 0);
+    }
+
+    /** Resets {@code world} to the replay's seed and runs every tick as fast as possible. */
+    public int playToEnd(GameWorld world) {
+        world.reset(replay.seed);
+        while (hasNext()) {
+            apply(world, next());
+        }
+        return (int) world.score;
+    }
+}
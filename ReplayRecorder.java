@@ -0,0 +1,48 @@
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Captures one game as a {@link Replay}: call {@link #tick(boolean)} with exactly
+ * what was fed to the world before every {@code step()}, then {@link #finish(int)}.
+ */
+public class ReplayRecorder {
+
+    // a run length must leave room for the symbol bit in a non-negative int
+    static final int MAX_RUN = Integer.MAX_VALUE >>> Replay.SYMBOL_BITS;
+
+    final long seed;                   // seed the recorded game was reset with
+    final ByteArrayOutputStream runs = new ByteArrayOutputStream(256);
+    int ticks = 0;
+
+    int runSymbol = -1;                // symbol of the open run, -1 before the first tick
+    int runLength = 0;
+
+    ReplayRecorder(long seed) { this.seed = seed; }
+
+    /** Records one tick. */
+    public void tick(boolean flap) {
+        int symbol = flap ? Replay.FLAP : 0;
+        if (symbol == runSymbol && runLength < MAX_RUN) {
+            runLength++;
+        } else {
+            flushRun();
+            runSymbol = symbol;
+            runLength = 1;
+        }
+        ticks++;
+    }
+
+    /** Closes the recording; {@code score} is stored so playback can be verified against it. */
+    public Replay finish(int score) {
+        flushRun();
+        runSymbol = -1;
+        return new Replay(seed, ticks, score, runs.toByteArray());
+    }
+
+    /** Emits the open run, if any. */
+    void flushRun() {
+        if (runLength > 0) {
+            Replay.writeVarint(runs, (runLength << Replay.SYMBOL_BITS) | runSymbol);
+            runLength = 0;
+        }
+    }
+}
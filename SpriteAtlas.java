@@ -0,0 +1,99 @@
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import javax.imageio.ImageIO;
+
+/**
+ * Every sprite, already scaled to the size it is drawn at, packed into one PNG
+ * ({@value #IMAGE}) with a text index of where each one sits ({@value #INDEX}); both are written
+ * by {@link AtlasPacker}. One small decode replaces decoding the four full-size PNGs and
+ * scaling them down, and the sprites become sub-images of a single image.
+ *
+ * Decoding can overlap with window creation: {@link #preload()} starts it on a background
+ * thread and {@link #get()} waits for the result. A missing atlas is not an error;
+ * {@link SpriteCache} then falls back to the individual PNGs.
+ */
+public class SpriteAtlas {
+
+    static final String IMAGE = "sprites.png";
+    static final String INDEX = "sprites.atlas";
+
+    final BufferedImage image;         // decoded atlas, as stored
+    final Map<String, Rectangle> regions;
+
+    static CompletableFuture<SpriteAtlas> loading;   // guarded by SpriteAtlas.class
+
+    SpriteAtlas(BufferedImage image, Map<String, Rectangle> regions) {
+        this.image = image;
+        this.regions = regions;
+    }
+
+    /* -------------------- LOADING -------------------- */
+    /** Starts decoding the atlas in the background, once; call as early as possible. */
+    static synchronized void preload() {
+        if (loading == null) {
+            loading = CompletableFuture.supplyAsync(SpriteAtlas::read);
+        }
+    }
+
+    /** The decoded atlas, waiting for {@link #preload()} if it is still running; null if there is none. */
+    static SpriteAtlas get() {
+        preload();
+        return loading.join();
+    }
+
+    /** Reads atlas and index from the classpath (project root); null if absent or unreadable. */
+    static SpriteAtlas read() {
+        URL imageUrl = SpriteAtlas.class.getResource("./" + IMAGE);
+        URL indexUrl = SpriteAtlas.class.getResource("./" + INDEX);
+        if (imageUrl == null || indexUrl == null) {
+            return null;
+        }
+        try (Reader in = new InputStreamReader(indexUrl.openStream(), StandardCharsets.UTF_8)) {
+            Map<String, Rectangle> regions = parseIndex(new BufferedReader(in));
+            BufferedImage image = ImageIO.read(imageUrl);
+            Rectangle bounds = new Rectangle(image.getWidth(), image.getHeight());
+            for (Map.Entry<String, Rectangle> e : regions.entrySet()) {
+                if (!bounds.contains(e.getValue())) {
+                    throw new IOException("sprite " + e.getKey() + " lies outside the atlas");
+                }
+            }
+            return new SpriteAtlas(image, regions);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("ignoring sprite atlas: " + e);
+            return null;
+        }
+    }
+
+    /* -------------------- INDEX FORMAT -------------------- */
+    // one sprite per line: "name x y width height"; blank lines and # comments are skipped
+
+    static Map<String, Rectangle> parseIndex(BufferedReader in) throws IOException {
+        Map<String, Rectangle> regions = new HashMap<>();
+        for (String line; (line = in.readLine()) != null; ) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] f = line.split("\\s+");
+            if (f.length != 5) {
+                throw new IOException("bad atlas line: " + line);
+            }
+            regions.put(f[0], new Rectangle(Integer.parseInt(f[1]), Integer.parseInt(f[2]),
+                    Integer.parseInt(f[3]), Integer.parseInt(f[4])));
+        }
+        return regions;
+    }
+
+    static String indexLine(String name, Rectangle r) {
+        return name + " " + r.x + " " + r.y + " " + r.width + " " + r.height;
+    }
+}
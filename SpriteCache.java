@@ -0,0 +1,190 @@
+import java.awt.*;               // GraphicsConfiguration, GraphicsEnvironment, Image, Rectangle, RenderingHints
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import javax.imageio.ImageIO;
+
+/**
+ * Game sprites, converted once into display-compatible images at exactly the size they are drawn,
+ * so every frame is a plain unscaled blit.
+ * They come from the pre-scaled {@link SpriteAtlas} when it is available: bird and pipes stay
+ * {@link Region}s of one compatible sheet and are drawn straight from it with the source-rectangle
+ * {@code drawImage}, so every sprite blit of a frame reads the same image (and, when accelerated,
+ * the same texture). Any sprite missing from the atlas (or packed at a different size) is decoded
+ * from its own PNG and scaled here instead, becoming a region covering its whole image.
+ * The full-screen background is additionally kept in a {@link VolatileImage} (video memory) and
+ * re-rendered from its cached copy whenever the surface is lost.
+ */
+public class SpriteCache {
+
+    /* -------------------- CACHED SPRITES -------------------- */
+    final BufferedImage background;    // sky, board-sized, opaque, an image of its own
+    final Region bird;                 // bird, collision-box sized
+    final Region topPipe;              // upper pipe, pipe sized
+    final Region bottomPipe;           // lower pipe, pipe sized
+
+    final GraphicsConfiguration gc;    // screen configuration, null when running headless
+    VolatileImage backgroundVram;      // accelerated copy of background, (re)built on demand
+
+    /** One sprite: its name in the atlas, its source PNG, and how it is drawn. */
+    static class Sprite {
+        final String name;
+        final String file;
+        final int width;
+        final int height;
+        final int transparency;
+
+        Sprite(String name, String file, int width, int height, int transparency) {
+            this.name = name;
+            this.file = file;
+            this.width = width;
+            this.height = height;
+            this.transparency = transparency;
+        }
+    }
+
+    /** A sprite drawn from part of a larger image: the atlas sheet, or all of its own image. */
+    static class Region {
+        final BufferedImage image;
+        final int x;
+        final int y;
+        final int width;
+        final int height;
+
+        Region(BufferedImage image, int x, int y, int width, int height) {
+            this.image = image;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+
+        /** Blits the region unscaled with its top-left corner at (dx, dy). */
+        void draw(Graphics g, int dx, int dy) {
+            g.drawImage(image, dx, dy, dx + width, dy + height, x, y, x + width, y + height, null);
+        }
+    }
+
+    /** The sprites {@code world} draws, at the sizes it draws them (background, bird, top pipe, bottom pipe). */
+    static Sprite[] sprites(GameWorld world) {
+        return new Sprite[] {
+                new Sprite("background", "./flappybirdbg.png", world.boardWidth, world.boardHeight, Transparency.OPAQUE),
+                new Sprite("bird", "./flappybird.png", world.birdWidth, world.birdHeight, Transparency.TRANSLUCENT),
+                new Sprite("topPipe", "./toppipe.png", world.pipeWidth, world.pipeHeight, Transparency.TRANSLUCENT),
+                new Sprite("bottomPipe", "./bottompipe.png", world.pipeWidth, world.pipeHeight, Transparency.TRANSLUCENT),
+        };
+    }
+
+    /** Takes the sprites from the atlas, or loads and pre-scales the PNGs, at the sizes {@code world} draws them at. */
+    SpriteCache(GameWorld world) {
+        gc = GraphicsEnvironment.isHeadless() ? null
+                : GraphicsEnvironment.getLocalGraphicsEnvironment()
+                        .getDefaultScreenDevice().getDefaultConfiguration();
+
+        SpriteAtlas atlas = SpriteAtlas.get();   // usually decoded already, while the window was built
+        BufferedImage sheet = null;
+        if (atlas != null) {                      // one compatible copy for all sprites to share
+            sheet = compatibleImage(gc, atlas.image.getWidth(), atlas.image.getHeight(), Transparency.TRANSLUCENT);
+            Graphics2D g = sheet.createGraphics();
+            try {
+                g.setComposite(AlphaComposite.Src);
+                g.drawImage(atlas.image, 0, 0, null);
+            } finally {
+                g.dispose();
+            }
+        }
+
+        Sprite[] sprites = sprites(world);
+        Region bg  = sprite(sprites[0], atlas, sheet);
+        bird       = sprite(sprites[1], atlas, sheet);
+        topPipe    = sprite(sprites[2], atlas, sheet);
+        bottomPipe = sprite(sprites[3], atlas, sheet);
+
+        // the background gets an opaque copy: it blits without blending and backs the VolatileImage
+        background = bg.image != sheet ? bg.image : resize(gc,
+                sheet.getSubimage(bg.x, bg.y, bg.width, bg.height), bg.width, bg.height, Transparency.OPAQUE);
+    }
+
+    /** Where {@code s} sits in the atlas sheet, or its PNG decoded on its own if the atlas lacks it at this size. */
+    Region sprite(Sprite s, SpriteAtlas atlas, BufferedImage sheet) {
+        Rectangle r = atlas == null ? null : atlas.regions.get(s.name);
+        if (r == null || r.width != s.width || r.height != s.height) {
+            return new Region(prepare(gc, load(s.file), s.width, s.height, s.transparency), 0, 0, s.width, s.height);
+        }
+        return new Region(sheet, r.x, r.y, r.width, r.height);
+    }
+
+    /* -------------------- DRAWING -------------------- */
+    /** Blits the background at the origin, going through video memory when there is a screen. */
+    public void drawBackground(Graphics g) {
+        if (gc == null) {
+            g.drawImage(background, 0, 0, null);
+            return;
+        }
+        do {
+            int status = backgroundVram == null ? VolatileImage.IMAGE_INCOMPATIBLE
+                                                : backgroundVram.validate(gc);
+            if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                // first use, or the window moved to a different screen: make a fresh surface
+                backgroundVram = gc.createCompatibleVolatileImage(
+                        background.getWidth(), background.getHeight(), Transparency.OPAQUE);
+                restoreBackground();
+            } else if (status == VolatileImage.IMAGE_RESTORED) {
+                restoreBackground();   // surface survived but its pixels are gone
+            }
+            g.drawImage(backgroundVram, 0, 0, null);
+        } while (backgroundVram.contentsLost());
+    }
+
+    /** Copies the cached background into the volatile surface. */
+    void restoreBackground() {
+        Graphics2D g = backgroundVram.createGraphics();
+        try {
+            g.drawImage(background, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    /* -------------------- LOADING -------------------- */
+    /** Decodes a PNG from the classpath (project root). */
+    static BufferedImage load(String name) {
+        try {
+            return ImageIO.read(SpriteCache.class.getResource(name));
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot load sprite " + name, e);
+        }
+    }
+
+    /** Scales {@code src} to w x h into an image laid out the way {@code gc} wants it. */
+    static BufferedImage prepare(GraphicsConfiguration gc, BufferedImage src, int w, int h, int transparency) {
+        // halve repeatedly first so large downscales (pipes are 6x) don't alias
+        while (src.getWidth() >= 2 * w && src.getHeight() >= 2 * h) {
+            src = resize(gc, src, src.getWidth() / 2, src.getHeight() / 2, transparency);
+        }
+        return resize(gc, src, w, h, transparency);
+    }
+
+    /** One bilinear resize into a compatible image. */
+    static BufferedImage resize(GraphicsConfiguration gc, Image src, int w, int h, int transparency) {
+        BufferedImage dst = compatibleImage(gc, w, h, transparency);
+        Graphics2D g = dst.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(src, 0, 0, w, h, null);
+        } finally {
+            g.dispose();
+        }
+        return dst;
+    }
+
+    /** Blank w x h image in the screen's preferred layout, or a plain INT image when headless. */
+    static BufferedImage compatibleImage(GraphicsConfiguration gc, int w, int h, int transparency) {
+        if (gc != null) {
+            return gc.createCompatibleImage(w, h, transparency);
+        }
+        return new BufferedImage(w, h, transparency == Transparency.OPAQUE
+                ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+    }
+}
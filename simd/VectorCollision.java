@@ -0,0 +1,51 @@
+package simd;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD bird-vs-pipes AABB test on the incubating Vector API.
+ * Kept out of the default package so the rest of the game compiles without
+ * {@code --add-modules jdk.incubator.vector}; BatchCollision finds it reflectively.
+ *
+ * Build and run:
+ *   javac --add-modules jdk.incubator.vector -d . simd/VectorCollision.java
+ *   java --add-modules jdk.incubator.vector -Dflappy.simd=true App
+ */
+public final class VectorCollision {
+
+    // 8 int lanes: exactly one pipe store (GameWorld.MAX_PIPES). Wider species would leave
+    // the whole store in the scalar tail, and masked loads aren't intrinsified on JDK 17.
+    static final VectorSpecies<Integer> SPECIES =
+            IntVector.SPECIES_PREFERRED.length() < 8 ? IntVector.SPECIES_PREFERRED : IntVector.SPECIES_256;
+
+    private VectorCollision() { }
+
+    /**
+     * True if the box (bx, by, bw, bh) overlaps any of the first {@code n} pipes
+     * whose top-left corners are (xs[i], ys[i]) and whose size is pw x ph.
+     * Same predicate as GameWorld.collision(), one vector of pipes per iteration.
+     */
+    public static boolean anyHit(int[] xs, int[] ys, int n, int bx, int by, int bw, int bh, int pw, int ph) {
+        int i = 0;
+        for (int upper = SPECIES.loopBound(n); i < upper; i += SPECIES.length()) {
+            IntVector x = IntVector.fromArray(SPECIES, xs, i);
+            IntVector y = IntVector.fromArray(SPECIES, ys, i);
+            VectorMask<Integer> hit = x.add(pw).compare(VectorOperators.GT, bx)     // bx < x + pw
+                    .and(x.compare(VectorOperators.LT, bx + bw))                  // bx + bw > x
+                    .and(y.add(ph).compare(VectorOperators.GT, by))               // by < y + ph
+                    .and(y.compare(VectorOperators.LT, by + bh));                 // by + bh > y
+            if (hit.anyTrue()) {
+                return true;
+            }
+        }
+        for (; i < n; i++) {           // tail that doesn't fill a whole vector
+            if (bx < xs[i] + pw && bx + bw > xs[i] && by < ys[i] + ph && by + bh > ys[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+}